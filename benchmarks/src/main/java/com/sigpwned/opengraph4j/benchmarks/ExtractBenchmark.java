@@ -0,0 +1,112 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+/**
+ * Measures extraction over the test fixtures. Run with {@code -prof gc} to measure allocation rate,
+ * too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ExtractBenchmark {
+  @Param({"example-verge-com.html", "example-imdb-com.html", "example-neverssl-com.html",
+      "example-everything-good.html", "example-everything-bad.html"})
+  public String fixture;
+
+  private String html;
+
+  private Document doc;
+
+  @Setup
+  public void setup() throws IOException {
+    try (InputStream in = ExtractBenchmark.class.getResourceAsStream("/" + fixture)) {
+      if (in == null)
+        throw new IllegalArgumentException("no such fixture: " + fixture);
+      html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    doc = Jsoup.parse(html);
+  }
+
+  /**
+   * Prescans the document for a possible og:type tag, and if it finds one, parses the whole
+   * document with jsoup, then extracts. Fixtures with no og:type candidate, e.g., neverssl, skip
+   * the parse entirely, so compare with {@link #extractParsedString()} for the cost of the parse.
+   */
+  @Benchmark
+  public Optional<OpenGraphMetadata> extractString() {
+    return OpenGraph.extract(html);
+  }
+
+  /**
+   * Always parses the whole document with jsoup, then extracts, as {@link #extractString()} did
+   * before it gained a prescan
+   */
+  @Benchmark
+  public Optional<OpenGraphMetadata> extractParsedString() {
+    return OpenGraph.extract(Jsoup.parse(html));
+  }
+
+  /**
+   * Extracts from a document that is already parsed
+   */
+  @Benchmark
+  public Optional<OpenGraphMetadata> extractDocument() {
+    return OpenGraph.extract(doc);
+  }
+
+  /**
+   * Tokenizes only the head of the document, then extracts
+   */
+  @Benchmark
+  public Optional<OpenGraphMetadata> extractReader() {
+    try {
+      return OpenGraph.extract(new StringReader(html));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
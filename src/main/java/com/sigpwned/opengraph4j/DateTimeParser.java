@@ -0,0 +1,205 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+
+/**
+ * Parses ISO-8601 timestamps, e.g., article:published_time. The parser is lenient: in addition to
+ * full timestamps with offsets, it accepts date-only values, which are taken as midnight UTC, and
+ * values with no offset, which are taken as UTC. It also accepts a space instead of the "T"
+ * separator, and offsets with or without colons, with optional minutes and seconds. It reports
+ * failure by returning null instead of throwing.
+ *
+ * <p>
+ * Pages often repeat the same timestamp, e.g., for published and modified time, so the parser
+ * remembers the last few values it parsed. This object is not thread-safe.
+ */
+final class DateTimeParser {
+  private static final int CACHE_SIZE = 4;
+
+  private final String[] cacheKeys;
+  private final OffsetDateTime[] cacheValues;
+  private int cacheNext;
+
+  public DateTimeParser() {
+    this.cacheKeys = new String[CACHE_SIZE];
+    this.cacheValues = new OffsetDateTime[CACHE_SIZE];
+  }
+
+  /**
+   * @return the given value as a timestamp, or null if it is not a valid timestamp
+   */
+  public OffsetDateTime parse(String s) {
+    for (int i = 0; i < CACHE_SIZE; i++)
+      if (s.equals(cacheKeys[i]))
+        return cacheValues[i];
+
+    OffsetDateTime result = parse0(s);
+    if (result != null) {
+      cacheKeys[cacheNext] = s;
+      cacheValues[cacheNext] = result;
+      cacheNext = (cacheNext + 1) % CACHE_SIZE;
+    }
+
+    return result;
+  }
+
+  private static OffsetDateTime parse0(String s) {
+    int end = s.length();
+    while (end > 0 && Character.isWhitespace(s.charAt(end - 1)))
+      end = end - 1;
+
+    int i = 0;
+    while (i < end && Character.isWhitespace(s.charAt(i)))
+      i = i + 1;
+
+    // Date
+    int year = digits(s, i, end, 4);
+    if (year < 0 || !matches(s, i + 4, end, '-'))
+      return null;
+    int month = digits(s, i + 5, end, 2);
+    if (month < 1 || month > 12 || !matches(s, i + 7, end, '-'))
+      return null;
+    int day = digits(s, i + 8, end, 2);
+    if (day < 1 || day > lengthOfMonth(year, month))
+      return null;
+    i = i + 10;
+
+    // Time
+    int hour = 0, minute = 0, second = 0, nanos = 0;
+    if (i < end && (s.charAt(i) == 'T' || s.charAt(i) == 't' || s.charAt(i) == ' ')) {
+      hour = digits(s, i + 1, end, 2);
+      if (hour < 0 || hour > 23 || !matches(s, i + 3, end, ':'))
+        return null;
+      minute = digits(s, i + 4, end, 2);
+      if (minute < 0 || minute > 59)
+        return null;
+      i = i + 6;
+
+      if (matches(s, i, end, ':')) {
+        second = digits(s, i + 1, end, 2);
+        if (second < 0 || second > 59)
+          return null;
+        i = i + 3;
+
+        if (matches(s, i, end, '.') || matches(s, i, end, ',')) {
+          i = i + 1;
+          int start = i;
+          while (i < end && isDigit(s.charAt(i))) {
+            if (i - start < 9)
+              nanos = nanos * 10 + (s.charAt(i) - '0');
+            i = i + 1;
+          }
+          if (i == start)
+            return null;
+          for (int j = i - start; j < 9; j++)
+            nanos = nanos * 10;
+        }
+      }
+    }
+
+    // Offset
+    int offsetSeconds = 0;
+    if (i < end) {
+      char ch = s.charAt(i);
+      if (ch == 'Z' || ch == 'z') {
+        i = i + 1;
+      } else if (ch == '+' || ch == '-') {
+        int offsetHours = digits(s, i + 1, end, 2);
+        if (offsetHours < 0 || offsetHours > 18)
+          return null;
+        i = i + 3;
+
+        // Minutes and seconds are optional, but a separator must be followed by two digits
+        int offsetMinutes = 0, offsetSecondsPart = 0;
+        boolean colon = matches(s, i, end, ':');
+        if (colon || i < end) {
+          offsetMinutes = digits(s, colon ? i + 1 : i, end, 2);
+          if (offsetMinutes < 0 || offsetMinutes > 59)
+            return null;
+          i = i + (colon ? 3 : 2);
+
+          if (colon ? matches(s, i, end, ':') : i < end) {
+            offsetSecondsPart = digits(s, colon ? i + 1 : i, end, 2);
+            if (offsetSecondsPart < 0 || offsetSecondsPart > 59)
+              return null;
+            i = i + (colon ? 3 : 2);
+          }
+        }
+
+        offsetSeconds = offsetHours * 3600 + offsetMinutes * 60 + offsetSecondsPart;
+        if (offsetSeconds > 18 * 3600)
+          return null;
+        if (ch == '-')
+          offsetSeconds = -offsetSeconds;
+      } else {
+        return null;
+      }
+    }
+
+    if (i != end)
+      return null;
+
+    return OffsetDateTime.of(year, month, day, hour, minute, second, nanos,
+        offsetSeconds == 0 ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds(offsetSeconds));
+  }
+
+  /**
+   * @return the non-negative integer value of the count digits at the given index, or -1 if they
+   *         are not all digits
+   */
+  private static int digits(String s, int index, int end, int count) {
+    if (index + count > end)
+      return -1;
+    int result = 0;
+    for (int i = index; i < index + count; i++) {
+      char ch = s.charAt(i);
+      if (!isDigit(ch))
+        return -1;
+      result = result * 10 + (ch - '0');
+    }
+    return result;
+  }
+
+  private static boolean matches(String s, int index, int end, char ch) {
+    return index < end && s.charAt(index) == ch;
+  }
+
+  private static boolean isDigit(char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return Year.isLeap(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+}
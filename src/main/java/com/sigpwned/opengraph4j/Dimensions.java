@@ -0,0 +1,86 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+/**
+ * Parses image and video dimensions, e.g., og:image:width. Real-world values are messy, so the
+ * parser is lenient: it accepts surrounding whitespace, an optional leading plus sign, an optional
+ * fractional part, which is truncated, and an optional "px" suffix. It reports failure with a
+ * sentinel instead of an exception, and does not allocate.
+ */
+final class Dimensions {
+  private Dimensions() {}
+
+  /**
+   * Returned by {@link #parse(CharSequence)} when the value is not a valid dimension.
+   */
+  public static final int INVALID = -1;
+
+  /**
+   * @return the given value as a non-negative integer, or {@link #INVALID} if it is not a valid
+   *         dimension
+   */
+  public static int parse(CharSequence s) {
+    final int length = s.length();
+
+    int i = 0;
+    while (i < length && Character.isWhitespace(s.charAt(i)))
+      i = i + 1;
+
+    if (i < length && s.charAt(i) == '+')
+      i = i + 1;
+
+    long result = 0;
+    int digits = 0;
+    while (i < length && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+      result = result * 10 + (s.charAt(i) - '0');
+      if (result > Integer.MAX_VALUE)
+        return INVALID;
+      digits = digits + 1;
+      i = i + 1;
+    }
+
+    if (i < length && s.charAt(i) == '.') {
+      i = i + 1;
+      while (i < length && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+        digits = digits + 1;
+        i = i + 1;
+      }
+    }
+
+    if (digits == 0)
+      return INVALID;
+
+    while (i < length && Character.isWhitespace(s.charAt(i)))
+      i = i + 1;
+
+    if (i + 1 < length && (s.charAt(i) == 'p' || s.charAt(i) == 'P')
+        && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+      i = i + 2;
+      while (i < length && Character.isWhitespace(s.charAt(i)))
+        i = i + 1;
+    }
+
+    if (i != length)
+      return INVALID;
+
+    return (int) result;
+  }
+}
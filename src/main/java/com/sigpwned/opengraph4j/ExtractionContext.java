@@ -0,0 +1,506 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.time.OffsetDateTime;
+import com.sigpwned.opengraph4j.html.HeadMetaTokenizer;
+import com.sigpwned.opengraph4j.html.MetaTagHandler;
+import com.sigpwned.opengraph4j.intern.StringInterner;
+import com.sigpwned.opengraph4j.model.OpenGraphAudio;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+import com.sigpwned.opengraph4j.problem.ExtractionProblem;
+import com.sigpwned.opengraph4j.problem.ExtractionProblemSink;
+
+/**
+ * The state of a single extraction. Keeping this state out of the extractor itself is what allows
+ * one extractor to be shared across threads.
+ *
+ * <p>
+ * A context can be {@link #reset() reset} and reused for another document. A reused context keeps
+ * its metadata builder's lists, its tokenizer, and its decoding buffers, so in steady state an
+ * extraction allocates little more than its result. This object is not thread-safe.
+ */
+class ExtractionContext implements MetaTagHandler {
+  private static final ExtractionProblem[] PROBLEMS = ExtractionProblem.values();
+
+  /**
+   * How many characters we read or decode at a time
+   */
+  private static final int BUFFER_SIZE = 8192;
+
+  private final OpenGraphMetadata.Builder builder;
+  private final DateTimeParser dates;
+  private final StringInterner interner;
+  private final ExtractionProblemSink problemSink;
+  private final HeadMetaTokenizer tokenizer;
+  private char[] chars;
+  private CharBuffer charBuffer;
+  private CharsetDecoder decoder;
+  private int problems;
+  private final ExtractionLimits limits;
+  private boolean done;
+  private int imageCount;
+  private int videoCount;
+  private int audioCount;
+  private OpenGraphVideo.Builder videoBuilder;
+  private OpenGraphAudio.Builder audioBuilder;
+  private OpenGraphImage.Builder imageBuilder;
+  private boolean typeSeen;
+  private int tagCount;
+  private int unrecognizedTagCount;
+  private int invalidDimensionCount;
+  private int invalidDateCount;
+
+  public ExtractionContext(StringInterner interner, ExtractionProblemSink problemSink,
+      ExtractionLimits limits) {
+    this.builder = OpenGraphMetadata.builder();
+    this.dates = new DateTimeParser();
+    this.interner = interner;
+    this.problemSink = problemSink;
+    this.problems = problems(problemSink);
+    this.limits = limits;
+    this.tokenizer = new HeadMetaTokenizer(this);
+  }
+
+  /**
+   * Asks the sink what it wants once, up front, so that unwanted problems cost one bit test.
+   */
+  private static int problems(ExtractionProblemSink problemSink) {
+    int result = 0;
+    for (ExtractionProblem problem : PROBLEMS)
+      if (problemSink.isEnabled(problem))
+        result = result | (1 << problem.ordinal());
+    return result;
+  }
+
+  /**
+   * Returns the context to its initial state, ready for a new document, keeping its buffers.
+   */
+  public void reset() {
+    builder.clear();
+    problems = problems(problemSink);
+    done = false;
+    imageCount = 0;
+    videoCount = 0;
+    audioCount = 0;
+    videoBuilder = null;
+    audioBuilder = null;
+    imageBuilder = null;
+    typeSeen = false;
+    tagCount = 0;
+    unrecognizedTagCount = 0;
+    invalidDimensionCount = 0;
+    invalidDateCount = 0;
+    tokenizer.reset();
+  }
+
+  /**
+   * @return a tokenizer that reports to this context
+   */
+  public HeadMetaTokenizer getTokenizer() {
+    return tokenizer;
+  }
+
+  /**
+   * @return a scratch buffer for reading characters
+   */
+  public char[] getChars() {
+    if (chars == null)
+      chars = new char[BUFFER_SIZE];
+    return chars;
+  }
+
+  /**
+   * @return an empty scratch buffer for decoding characters
+   */
+  public CharBuffer getCharBuffer() {
+    if (charBuffer == null)
+      charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+    charBuffer.clear();
+    return charBuffer;
+  }
+
+  /**
+   * @return a fresh decoder for the given charset that replaces bad input. Documents in a crawl
+   *         mostly share a charset, so we keep the last decoder and reuse it when we can.
+   */
+  public CharsetDecoder getDecoder(Charset charset) {
+    if (decoder != null && decoder.charset().equals(charset)) {
+      decoder.reset();
+    } else {
+      decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+    return decoder;
+  }
+
+  private void problem(ExtractionProblem problem, CharSequence property,
+      CharSequence content) {
+    if ((problems & (1 << problem.ordinal())) != 0)
+      problemSink.problem(problem, property, content);
+  }
+
+  /**
+   * Handles one meta tag. The og:type tag may appear anywhere, so we record it as we go, and
+   * decide whether we have a result at the end. We only copy the content of tags we recognize.
+   */
+  @Override
+  public void meta(CharSequence property, CharSequence content) {
+    if (done)
+      return;
+
+    if (tagCount >= limits.getMaxMetaTags()) {
+      problem(ExtractionProblem.LIMIT_EXCEEDED, property, content);
+      done = true;
+      return;
+    }
+
+    tagCount = tagCount + 1;
+
+    OpenGraphProperty p = OpenGraphProperty.lookup(property);
+    if (p == null) {
+      unrecognizedTagCount = unrecognizedTagCount + 1;
+      problem(ExtractionProblem.UNRECOGNIZED_PROPERTY, property, content);
+      return;
+    }
+
+    if (content.length() > limits.getMaxValueLength()) {
+      problem(ExtractionProblem.LIMIT_EXCEEDED, property, content);
+      content = truncate(content, limits.getMaxValueLength());
+    }
+
+    if (p == OpenGraphProperty.OG_TYPE && !typeSeen) {
+      // We only consider the first og:type tag, even if it's blank.
+      String type = content.toString().strip();
+      type(type.isEmpty() ? null : interner.intern(type));
+    }
+
+    metadata(p, property, content);
+  }
+
+  @Override
+  public boolean isDone() {
+    return done;
+  }
+
+  public int getTagCount() {
+    return tagCount;
+  }
+
+  public int getUnrecognizedTagCount() {
+    return unrecognizedTagCount;
+  }
+
+  public int getInvalidDimensionCount() {
+    return invalidDimensionCount;
+  }
+
+  public int getInvalidDateCount() {
+    return invalidDateCount;
+  }
+
+  /**
+   * @return the given value cut to the given length, without splitting a surrogate pair
+   */
+  private static CharSequence truncate(CharSequence value, int length) {
+    if (length > 0 && Character.isHighSurrogate(value.charAt(length - 1)))
+      length = length - 1;
+    return value.subSequence(0, length);
+  }
+
+  private void type(String type) {
+    builder.setType(type);
+    typeSeen = true;
+  }
+
+  /**
+   * @return the extracted metadata, or null if the document has no og:type
+   */
+  public OpenGraphMetadata build() {
+    if (builder.getType() == null)
+      return null;
+
+    flushImage();
+    flushVideo();
+    flushAudio();
+
+    return builder.build();
+  }
+
+  /**
+   * Adds the image in flight, if any, unless it's past the limit.
+   */
+  private void flushImage() {
+    if (imageBuilder != null && imageCount <= limits.getMaxImages())
+      builder.getImages().add(imageBuilder.build());
+    imageBuilder = null;
+  }
+
+  /**
+   * Adds the video in flight, if any, unless it's past the limit.
+   */
+  private void flushVideo() {
+    if (videoBuilder != null && videoCount <= limits.getMaxVideos())
+      builder.getVideos().add(videoBuilder.build());
+    videoBuilder = null;
+  }
+
+  /**
+   * Adds the audio in flight, if any, unless it's past the limit.
+   */
+  private void flushAudio() {
+    if (audioBuilder != null && audioCount <= limits.getMaxAudios())
+      builder.getAudios().add(audioBuilder.build());
+    audioBuilder = null;
+  }
+
+  private void metadata(OpenGraphProperty p, CharSequence property, CharSequence content) {
+    switch (p) {
+      case OG_TYPE:
+        // Skip. We've already handled it in meta().
+        break;
+      case OG_TITLE:
+        builder.setTitle(content.toString());
+        break;
+      case OG_URL:
+        builder.setUrl(content.toString());
+        break;
+      case OG_DESCRIPTION:
+        builder.setDescription(content.toString());
+        break;
+      case OG_DETERMINER:
+        builder.setDeterminer(interner.intern(content));
+        break;
+      case OG_LOCALE:
+        builder.setLocale(interner.intern(content));
+        break;
+      case OG_LOCALE_ALTERNATE:
+        builder.getAlternateLocales().add(interner.intern(content));
+        break;
+      case OG_SITE_NAME:
+        builder.setSiteName(interner.intern(content));
+        break;
+      case OG_IMAGE:
+        flushImage();
+        imageCount = imageCount + 1;
+        if (imageCount > limits.getMaxImages())
+          problem(ExtractionProblem.LIMIT_EXCEEDED, property, content);
+        imageBuilder = OpenGraphImage.builder(content.toString());
+        break;
+      case OG_IMAGE_SECURE_URL:
+        if (imageBuilder != null) {
+          imageBuilder.setSecureUrl(content.toString());
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_IMAGE_TYPE:
+        if (imageBuilder != null) {
+          imageBuilder.setType(interner.intern(content));
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_IMAGE_WIDTH:
+        if (imageBuilder != null) {
+          int width = Dimensions.parse(content);
+          if (width == Dimensions.INVALID) {
+            invalidDimensionCount = invalidDimensionCount + 1;
+            problem(ExtractionProblem.INVALID_DIMENSION, property, content);
+            imageBuilder.setWidth(null);
+          } else {
+            imageBuilder.setWidth(width);
+          }
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_IMAGE_HEIGHT:
+        if (imageBuilder != null) {
+          int height = Dimensions.parse(content);
+          if (height == Dimensions.INVALID) {
+            invalidDimensionCount = invalidDimensionCount + 1;
+            problem(ExtractionProblem.INVALID_DIMENSION, property, content);
+            imageBuilder.setHeight(null);
+          } else {
+            imageBuilder.setHeight(height);
+          }
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_IMAGE_ALT:
+        if (imageBuilder != null) {
+          imageBuilder.setAlt(content.toString());
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_VIDEO:
+        flushVideo();
+        videoCount = videoCount + 1;
+        if (videoCount > limits.getMaxVideos())
+          problem(ExtractionProblem.LIMIT_EXCEEDED, property, content);
+        videoBuilder = OpenGraphVideo.builder(content.toString());
+        break;
+      case OG_VIDEO_SECURE_URL:
+        if (videoBuilder != null) {
+          videoBuilder.setSecureUrl(content.toString());
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_VIDEO_TYPE:
+        if (videoBuilder != null) {
+          videoBuilder.setType(interner.intern(content));
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_VIDEO_WIDTH:
+        if (videoBuilder != null) {
+          int width = Dimensions.parse(content);
+          if (width == Dimensions.INVALID) {
+            invalidDimensionCount = invalidDimensionCount + 1;
+            problem(ExtractionProblem.INVALID_DIMENSION, property, content);
+            videoBuilder.setWidth(null);
+          } else {
+            videoBuilder.setWidth(width);
+          }
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_VIDEO_HEIGHT:
+        if (videoBuilder != null) {
+          int height = Dimensions.parse(content);
+          if (height == Dimensions.INVALID) {
+            invalidDimensionCount = invalidDimensionCount + 1;
+            problem(ExtractionProblem.INVALID_DIMENSION, property, content);
+            videoBuilder.setHeight(null);
+          } else {
+            videoBuilder.setHeight(height);
+          }
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_VIDEO_ALT:
+        if (videoBuilder != null) {
+          videoBuilder.setAlt(content.toString());
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_AUDIO:
+        flushAudio();
+        audioCount = audioCount + 1;
+        if (audioCount > limits.getMaxAudios())
+          problem(ExtractionProblem.LIMIT_EXCEEDED, property, content);
+        audioBuilder = OpenGraphAudio.builder(content.toString());
+        break;
+      case OG_AUDIO_SECURE_URL:
+        if (audioBuilder != null) {
+          audioBuilder.setSecureUrl(content.toString());
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case OG_AUDIO_TYPE:
+        if (audioBuilder != null) {
+          audioBuilder.setType(interner.intern(content));
+        } else {
+          problem(ExtractionProblem.NO_MEDIA_IN_FLIGHT, property, content);
+        }
+        break;
+      case ARTICLE_PUBLISHED_TIME: {
+        OffsetDateTime value = dateTime(property, content);
+        if (value != null)
+          builder.setArticlePublishedTime(value);
+        break;
+      }
+      case ARTICLE_MODIFIED_TIME: {
+        OffsetDateTime value = dateTime(property, content);
+        if (value != null)
+          builder.setArticleModifiedTime(value);
+        break;
+      }
+      case ARTICLE_EXPIRATION_TIME: {
+        OffsetDateTime value = dateTime(property, content);
+        if (value != null)
+          builder.setArticleExpirationTime(value);
+        break;
+      }
+      case ARTICLE_AUTHOR:
+        builder.getArticleAuthors().add(content.toString());
+        break;
+      case ARTICLE_SECTION:
+        builder.setArticleSection(interner.intern(content));
+        break;
+      case ARTICLE_TAG:
+        builder.getArticleTags().add(content.toString());
+        break;
+      case BOOK_AUTHOR:
+        builder.getBookAuthors().add(content.toString());
+        break;
+      case BOOK_ISBN:
+        builder.setBookIsbn(content.toString());
+        break;
+      case BOOK_RELEASE_DATE: {
+        OffsetDateTime value = dateTime(property, content);
+        if (value != null)
+          builder.setBookReleaseDate(value);
+        break;
+      }
+      case BOOK_TAG:
+        builder.getBookTags().add(content.toString());
+        break;
+      case PROFILE_FIRST_NAME:
+        builder.setProfileFirstName(content.toString());
+        break;
+      case PROFILE_LAST_NAME:
+        builder.setProfileLastName(content.toString());
+        break;
+      case PROFILE_USERNAME:
+        builder.setProfileUsername(content.toString());
+        break;
+      case PROFILE_GENDER:
+        builder.setProfileGender(interner.intern(content));
+        break;
+      default:
+        throw new AssertionError(p);
+    }
+  }
+
+  private OffsetDateTime dateTime(CharSequence property, CharSequence content) {
+    OffsetDateTime result = dates.parse(content.toString());
+    if (result == null) {
+      invalidDateCount = invalidDateCount + 1;
+      problem(ExtractionProblem.INVALID_DATE, property, content);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,48 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event that spans the extraction of metadata from one document, including any
+ * parse and meta scan.
+ */
+@Name("com.sigpwned.opengraph4j.Extraction")
+@Label("OpenGraph Extraction")
+@Category({"OpenGraph"})
+@Description("Extracting OpenGraph metadata from one HTML document")
+class ExtractionEvent extends jdk.jfr.Event {
+  @Label("Document Size")
+  @Description("The length of the document, in characters for text or bytes for binary input, "
+      + "or -1 if unknown")
+  long documentSize;
+
+  @Label("Tag Count")
+  @Description("The number of meta tags with both property and content attributes")
+  int tagCount;
+
+  @Label("Result Type")
+  @Description("The document's og:type, or null if it has no OpenGraph metadata")
+  String resultType;
+}
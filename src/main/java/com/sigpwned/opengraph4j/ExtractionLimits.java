@@ -0,0 +1,347 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import java.util.Objects;
+import com.sigpwned.opengraph4j.annotation.Generated;
+
+/**
+ * Bounds on the work an {@link OpenGraphExtractor} does and the memory it uses for any one
+ * document, which keep hostile or broken pages from running away with a shared service. When a
+ * document hits a limit, extraction stops or the excess is dropped, and the problem is reported as
+ * {@link com.sigpwned.opengraph4j.problem.ExtractionProblem#LIMIT_EXCEEDED}. By default, there are
+ * no limits.
+ */
+public class ExtractionLimits {
+  /**
+   * No limits at all.
+   */
+  public static final ExtractionLimits NONE = builder().build();
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder to build {@link ExtractionLimits}.
+   */
+  public static final class Builder {
+    private long maxInputLength = Long.MAX_VALUE;
+    private int maxMetaTags = Integer.MAX_VALUE;
+    private int maxImages = Integer.MAX_VALUE;
+    private int maxVideos = Integer.MAX_VALUE;
+    private int maxAudios = Integer.MAX_VALUE;
+    private int maxValueLength = Integer.MAX_VALUE;
+
+    public Builder() {}
+
+    private Builder(ExtractionLimits limits) {
+      this.maxInputLength = limits.maxInputLength;
+      this.maxMetaTags = limits.maxMetaTags;
+      this.maxImages = limits.maxImages;
+      this.maxVideos = limits.maxVideos;
+      this.maxAudios = limits.maxAudios;
+      this.maxValueLength = limits.maxValueLength;
+    }
+
+    /**
+     * Builder method for maxInputLength parameter.
+     * 
+     * @param maxInputLength field to set
+     * @return builder
+     */
+    public Builder withMaxInputLength(long maxInputLength) {
+      setMaxInputLength(maxInputLength);
+      return this;
+    }
+
+    /**
+     * @return the maxInputLength
+     */
+    public long getMaxInputLength() {
+      return maxInputLength;
+    }
+
+    /**
+     * @param maxInputLength the maxInputLength to set
+     */
+    public void setMaxInputLength(long maxInputLength) {
+      if (maxInputLength < 0L)
+        throw new IllegalArgumentException("maxInputLength must not be negative");
+      this.maxInputLength = maxInputLength;
+    }
+
+    /**
+     * Builder method for maxMetaTags parameter.
+     * 
+     * @param maxMetaTags field to set
+     * @return builder
+     */
+    public Builder withMaxMetaTags(int maxMetaTags) {
+      setMaxMetaTags(maxMetaTags);
+      return this;
+    }
+
+    /**
+     * @return the maxMetaTags
+     */
+    public int getMaxMetaTags() {
+      return maxMetaTags;
+    }
+
+    /**
+     * @param maxMetaTags the maxMetaTags to set
+     */
+    public void setMaxMetaTags(int maxMetaTags) {
+      if (maxMetaTags < 0)
+        throw new IllegalArgumentException("maxMetaTags must not be negative");
+      this.maxMetaTags = maxMetaTags;
+    }
+
+    /**
+     * Builder method for maxImages parameter.
+     * 
+     * @param maxImages field to set
+     * @return builder
+     */
+    public Builder withMaxImages(int maxImages) {
+      setMaxImages(maxImages);
+      return this;
+    }
+
+    /**
+     * @return the maxImages
+     */
+    public int getMaxImages() {
+      return maxImages;
+    }
+
+    /**
+     * @param maxImages the maxImages to set
+     */
+    public void setMaxImages(int maxImages) {
+      if (maxImages < 0)
+        throw new IllegalArgumentException("maxImages must not be negative");
+      this.maxImages = maxImages;
+    }
+
+    /**
+     * Builder method for maxVideos parameter.
+     * 
+     * @param maxVideos field to set
+     * @return builder
+     */
+    public Builder withMaxVideos(int maxVideos) {
+      setMaxVideos(maxVideos);
+      return this;
+    }
+
+    /**
+     * @return the maxVideos
+     */
+    public int getMaxVideos() {
+      return maxVideos;
+    }
+
+    /**
+     * @param maxVideos the maxVideos to set
+     */
+    public void setMaxVideos(int maxVideos) {
+      if (maxVideos < 0)
+        throw new IllegalArgumentException("maxVideos must not be negative");
+      this.maxVideos = maxVideos;
+    }
+
+    /**
+     * Builder method for maxAudios parameter.
+     * 
+     * @param maxAudios field to set
+     * @return builder
+     */
+    public Builder withMaxAudios(int maxAudios) {
+      setMaxAudios(maxAudios);
+      return this;
+    }
+
+    /**
+     * @return the maxAudios
+     */
+    public int getMaxAudios() {
+      return maxAudios;
+    }
+
+    /**
+     * @param maxAudios the maxAudios to set
+     */
+    public void setMaxAudios(int maxAudios) {
+      if (maxAudios < 0)
+        throw new IllegalArgumentException("maxAudios must not be negative");
+      this.maxAudios = maxAudios;
+    }
+
+    /**
+     * Builder method for maxValueLength parameter.
+     * 
+     * @param maxValueLength field to set
+     * @return builder
+     */
+    public Builder withMaxValueLength(int maxValueLength) {
+      setMaxValueLength(maxValueLength);
+      return this;
+    }
+
+    /**
+     * @return the maxValueLength
+     */
+    public int getMaxValueLength() {
+      return maxValueLength;
+    }
+
+    /**
+     * @param maxValueLength the maxValueLength to set
+     */
+    public void setMaxValueLength(int maxValueLength) {
+      if (maxValueLength < 0)
+        throw new IllegalArgumentException("maxValueLength must not be negative");
+      this.maxValueLength = maxValueLength;
+    }
+
+    public ExtractionLimits build() {
+      return new ExtractionLimits(this);
+    }
+  }
+
+  /**
+   * The most input examined per document, in bytes for byte input or characters for text input.
+   * The head of a document must end within this much input, or later tags are never seen. Does not
+   * apply to documents that have already been parsed.
+   */
+  private final long maxInputLength;
+
+  /**
+   * The most meta tags processed per document. Extraction stops at the first tag past the limit.
+   */
+  private final int maxMetaTags;
+
+  /**
+   * The most images kept per document. Later images are dropped.
+   */
+  private final int maxImages;
+
+  /**
+   * The most videos kept per document. Later videos are dropped.
+   */
+  private final int maxVideos;
+
+  /**
+   * The most audios kept per document. Later audios are dropped.
+   */
+  private final int maxAudios;
+
+  /**
+   * The longest value kept, in characters. Longer values are truncated.
+   */
+  private final int maxValueLength;
+
+  private ExtractionLimits(Builder builder) {
+    this.maxInputLength = builder.maxInputLength;
+    this.maxMetaTags = builder.maxMetaTags;
+    this.maxImages = builder.maxImages;
+    this.maxVideos = builder.maxVideos;
+    this.maxAudios = builder.maxAudios;
+    this.maxValueLength = builder.maxValueLength;
+  }
+
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  /**
+   * @return the maxInputLength
+   */
+  public long getMaxInputLength() {
+    return maxInputLength;
+  }
+
+  /**
+   * @return the maxMetaTags
+   */
+  public int getMaxMetaTags() {
+    return maxMetaTags;
+  }
+
+  /**
+   * @return the maxImages
+   */
+  public int getMaxImages() {
+    return maxImages;
+  }
+
+  /**
+   * @return the maxVideos
+   */
+  public int getMaxVideos() {
+    return maxVideos;
+  }
+
+  /**
+   * @return the maxAudios
+   */
+  public int getMaxAudios() {
+    return maxAudios;
+  }
+
+  /**
+   * @return the maxValueLength
+   */
+  public int getMaxValueLength() {
+    return maxValueLength;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public int hashCode() {
+    return Objects.hash(maxAudios, maxImages, maxInputLength, maxMetaTags, maxValueLength,
+        maxVideos);
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ExtractionLimits other = (ExtractionLimits) obj;
+    return maxAudios == other.maxAudios && maxImages == other.maxImages
+        && maxInputLength == other.maxInputLength && maxMetaTags == other.maxMetaTags
+        && maxValueLength == other.maxValueLength && maxVideos == other.maxVideos;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public String toString() {
+    return "ExtractionLimits [maxInputLength=" + maxInputLength + ", maxMetaTags=" + maxMetaTags
+        + ", maxImages=" + maxImages + ", maxVideos=" + maxVideos + ", maxAudios=" + maxAudios
+        + ", maxValueLength=" + maxValueLength + "]";
+  }
+}
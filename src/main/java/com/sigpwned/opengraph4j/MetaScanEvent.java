@@ -0,0 +1,41 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event that records how long it took to find and dispatch the meta tags of one
+ * document. When the document is tokenized directly, this includes the time taken to tokenize it.
+ */
+@Name("com.sigpwned.opengraph4j.MetaScan")
+@Label("OpenGraph Meta Scan")
+@Category({"OpenGraph"})
+@Description("Scanning the head of an HTML document for OpenGraph meta tags")
+@StackTrace(false)
+class MetaScanEvent extends jdk.jfr.Event {
+  @Label("Tag Count")
+  @Description("The number of meta tags with both property and content attributes")
+  int tagCount;
+}
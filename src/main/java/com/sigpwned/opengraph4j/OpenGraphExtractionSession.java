@@ -0,0 +1,183 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.util.Optional;
+import com.sigpwned.opengraph4j.html.CharsetSniffer;
+import com.sigpwned.opengraph4j.html.HeadMetaTokenizer;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+
+/**
+ * A push-style extraction of one document, for callers that receive documents in chunks, e.g.,
+ * from a non-blocking HTTP client. Feed the chunks to {@link #feed(ByteBuffer)} as they arrive,
+ * and call {@link #finish()} at the end of the document, or as soon as {@link #feed(ByteBuffer)}
+ * returns true, which means the head has closed and the rest of the document is irrelevant. At
+ * that point, the caller can abort the download and release the connection.
+ *
+ * <pre>
+ * OpenGraphExtractionSession session = extractor.newSession(charset);
+ * for (ByteBuffer chunk : chunks)
+ *   if (session.feed(chunk))
+ *     break;
+ * Optional&lt;OpenGraphMetadata&gt; metadata = session.finish();
+ * </pre>
+ *
+ * <p>
+ * The session buffers the first few kilobytes of the document to sniff its charset, and after that
+ * carries only the decoder and tokenizer state, plus any partial multi-byte character, across
+ * chunks. Chunks can be split anywhere. This object is not thread-safe. Measurements taken by the
+ * extractor's listener and Flight Recorder events span the whole session, including any time spent
+ * waiting for chunks.
+ *
+ * @see OpenGraphExtractor#newSession(Charset)
+ */
+public class OpenGraphExtractionSession {
+  /**
+   * How many bytes we buffer and how many characters we decode at a time
+   */
+  private static final int BUFFER_SIZE = 8192;
+
+  private final OpenGraphExtractor extractor;
+  private final Charset transportCharset;
+  private final ExtractionEvent event;
+  private final long start;
+  private final ExtractionContext context;
+  private final MetaScanEvent scan;
+  private final HeadMetaTokenizer tokenizer;
+
+  /**
+   * Bytes received but not yet decoded, in write mode
+   */
+  private final ByteBuffer in;
+
+  private final CharBuffer out;
+  private CharsetDecoder decoder;
+  private long length;
+  private boolean finished;
+
+  OpenGraphExtractionSession(OpenGraphExtractor extractor, Charset transportCharset) {
+    this.extractor = extractor;
+    this.transportCharset = transportCharset;
+    this.event = new ExtractionEvent();
+    this.event.begin();
+    this.start = extractor.start();
+    this.context = extractor.newContext();
+    this.scan = new MetaScanEvent();
+    this.scan.begin();
+    this.tokenizer = context.getTokenizer();
+    this.in = ByteBuffer.allocate(BUFFER_SIZE);
+    this.out = CharBuffer.allocate(BUFFER_SIZE);
+  }
+
+  /**
+   * Accepts the next chunk of the document. All of the chunk's remaining bytes are consumed unless
+   * the session becomes done partway through it, in which case the chunk's position is left after
+   * the last byte consumed.
+   *
+   * @return true if the session is done, and will not consume any more input, or false otherwise
+   * @throws IllegalStateException if the session has finished
+   */
+  public boolean feed(ByteBuffer chunk) {
+    if (finished)
+      throw new IllegalStateException("finished");
+
+    final long maxInputLength = extractor.getLimits().getMaxInputLength();
+    while (chunk.hasRemaining() && !isDone()) {
+      int n = (int) Math.min(Math.min(in.remaining(), chunk.remaining()), maxInputLength - length);
+
+      ByteBuffer slice = chunk.duplicate();
+      slice.limit(slice.position() + n);
+      in.put(slice);
+      chunk.position(chunk.position() + n);
+      length = length + n;
+
+      // We can't decode anything until we know the charset.
+      if (decoder == null && in.position() < CharsetSniffer.SNIFF_LENGTH && !isDone())
+        continue;
+
+      decode(false);
+    }
+
+    return isDone();
+  }
+
+  /**
+   * @return true if the session has seen the end of the head or has reached its input limit, and
+   *         will not consume any more input, or false otherwise
+   */
+  public boolean isDone() {
+    return tokenizer.isDone() || length >= extractor.getLimits().getMaxInputLength();
+  }
+
+  /**
+   * Signals the end of the document, or that the caller will send no more of it, and returns the
+   * extracted metadata.
+   *
+   * @throws IllegalStateException if the session has already finished
+   */
+  public Optional<OpenGraphMetadata> finish() {
+    if (finished)
+      throw new IllegalStateException("finished");
+    finished = true;
+
+    if (!tokenizer.isDone()) {
+      decode(true);
+      boolean flushed = false;
+      while (!tokenizer.isDone() && !flushed) {
+        flushed = decoder.flush(out).isUnderflow();
+        tokenize();
+      }
+    }
+    tokenizer.finish();
+    OpenGraphExtractor.commit(scan, context);
+
+    return extractor.finish(context, start, event, length);
+  }
+
+  /**
+   * Decodes and tokenizes as much of the buffered input as possible.
+   */
+  private void decode(boolean endOfInput) {
+    in.flip();
+    if (decoder == null) {
+      decoder = context.getDecoder(
+          CharsetSniffer.sniff(in, transportCharset).orElse(CharsetSniffer.DEFAULT_CHARSET));
+    }
+    while (!tokenizer.isDone()) {
+      // We replace bad input, so decoding only ever stops on underflow or overflow. On underflow,
+      // any partial character stays in the input buffer until the next chunk arrives.
+      boolean underflow = decoder.decode(in, out, endOfInput).isUnderflow();
+      tokenize();
+      if (underflow)
+        break;
+    }
+    in.compact();
+  }
+
+  private void tokenize() {
+    out.flip();
+    tokenizer.tokenize(out.array(), out.arrayOffset() + out.position(), out.remaining());
+    out.clear();
+  }
+}
@@ -19,78 +19,544 @@
  */
 package com.sigpwned.opengraph4j;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
-import java.util.Iterator;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import com.sigpwned.opengraph4j.model.OpenGraphAudio;
-import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.html.CharsetSniffer;
+import com.sigpwned.opengraph4j.html.HeadMetaTokenizer;
+import com.sigpwned.opengraph4j.html.JsoupMetaTagSource;
+import com.sigpwned.opengraph4j.html.MetaTagSource;
+import com.sigpwned.opengraph4j.html.OpenGraphPrescanner;
+import com.sigpwned.opengraph4j.intern.StringInterner;
+import com.sigpwned.opengraph4j.metrics.ExtractionListener;
+import com.sigpwned.opengraph4j.metrics.ExtractionMetrics;
 import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
-import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+import com.sigpwned.opengraph4j.problem.ExtractionProblemSink;
+import com.sigpwned.opengraph4j.problem.LoggingExtractionProblemSink;
 
 /**
- * Extracts {@link OpenGraphMetadata} from a parsed HTML document. This object is not thread-safe,
- * but can be reused.
+ * Extracts {@link OpenGraphMetadata} from a parsed HTML document, or directly from HTML text. This
+ * object is immutable and thread-safe, so a single instance can be shared freely.
  */
 public class OpenGraphExtractor {
-  private static final Logger LOGGER = LoggerFactory.getLogger(OpenGraphExtractor.class);
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder to build {@link OpenGraphExtractor}.
+   */
+  public static final class Builder {
+    private StringInterner interner = StringInterner.NONE;
+    private ExtractionListener listener = ExtractionListener.NONE;
+    private ExtractionProblemSink problemSink = LoggingExtractionProblemSink.DEFAULT;
+    private ExtractionLimits limits = ExtractionLimits.NONE;
+
+    public Builder() {}
+
+    private Builder(OpenGraphExtractor extractor) {
+      this.interner = extractor.interner;
+      this.listener = extractor.listener;
+      this.problemSink = extractor.problemSink;
+      this.limits = extractor.limits;
+    }
+
+    /**
+     * Builder method for interner parameter.
+     * 
+     * @param interner field to set
+     * @return builder
+     */
+    public Builder withInterner(StringInterner interner) {
+      setInterner(interner);
+      return this;
+    }
+
+    /**
+     * @return the interner
+     */
+    public StringInterner getInterner() {
+      return interner;
+    }
+
+    /**
+     * @param interner the interner to set
+     */
+    public void setInterner(StringInterner interner) {
+      if (interner == null)
+        throw new NullPointerException();
+      this.interner = interner;
+    }
+
+    /**
+     * Builder method for listener parameter.
+     * 
+     * @param listener field to set
+     * @return builder
+     */
+    public Builder withListener(ExtractionListener listener) {
+      setListener(listener);
+      return this;
+    }
+
+    /**
+     * @return the listener
+     */
+    public ExtractionListener getListener() {
+      return listener;
+    }
+
+    /**
+     * @param listener the listener to set
+     */
+    public void setListener(ExtractionListener listener) {
+      if (listener == null)
+        throw new NullPointerException();
+      this.listener = listener;
+    }
+
+    /**
+     * Builder method for problemSink parameter.
+     * 
+     * @param problemSink field to set
+     * @return builder
+     */
+    public Builder withProblemSink(ExtractionProblemSink problemSink) {
+      setProblemSink(problemSink);
+      return this;
+    }
+
+    /**
+     * @return the problemSink
+     */
+    public ExtractionProblemSink getProblemSink() {
+      return problemSink;
+    }
+
+    /**
+     * @param problemSink the problemSink to set
+     */
+    public void setProblemSink(ExtractionProblemSink problemSink) {
+      if (problemSink == null)
+        throw new NullPointerException();
+      this.problemSink = problemSink;
+    }
+
+    /**
+     * Builder method for limits parameter.
+     * 
+     * @param limits field to set
+     * @return builder
+     */
+    public Builder withLimits(ExtractionLimits limits) {
+      setLimits(limits);
+      return this;
+    }
+
+    /**
+     * @return the limits
+     */
+    public ExtractionLimits getLimits() {
+      return limits;
+    }
+
+    /**
+     * @param limits the limits to set
+     */
+    public void setLimits(ExtractionLimits limits) {
+      if (limits == null)
+        throw new NullPointerException();
+      this.limits = limits;
+    }
+
+    public OpenGraphExtractor build() {
+      return new OpenGraphExtractor(this);
+    }
+  }
+
+  /**
+   * Interns the values of low-cardinality properties, like og:type, og:site_name, og:locale, and
+   * media types. By default, nothing is interned.
+   */
+  private final StringInterner interner;
+
+  /**
+   * Receives measurements of each extraction. By default, no measurements are taken.
+   */
+  private final ExtractionListener listener;
+
+  /**
+   * Receives the problems found in documents, like invalid values. By default, problems are
+   * logged.
+   */
+  private final ExtractionProblemSink problemSink;
+
+  /**
+   * Bounds the work done and memory used for each document. By default, there are no limits.
+   */
+  private final ExtractionLimits limits;
+
+  /**
+   * The most idle extraction contexts we keep for reuse. This covers one context per core with room
+   * to spare, so a busy extractor almost never has to create a context.
+   */
+  private static final int MAX_IDLE_CONTEXTS =
+      Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  /**
+   * Idle extraction contexts, so that extracting a document allocates little more than the result.
+   * They are shared across threads rather than kept per thread, since callers that start a new
+   * thread for each document, e.g., a virtual thread per task, would never reuse a per-thread
+   * context.
+   */
+  private final BlockingQueue<ExtractionContext> contexts =
+      new ArrayBlockingQueue<>(MAX_IDLE_CONTEXTS);
+
+  public OpenGraphExtractor() {
+    this(builder());
+  }
+
+  private OpenGraphExtractor(Builder builder) {
+    this.interner = builder.interner;
+    this.listener = builder.listener;
+    this.problemSink = builder.problemSink;
+    this.limits = builder.limits;
+  }
+
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  /**
+   * @return the interner
+   */
+  public StringInterner getInterner() {
+    return interner;
+  }
+
+  /**
+   * @return the listener
+   */
+  public ExtractionListener getListener() {
+    return listener;
+  }
+
+  /**
+   * @return the problemSink
+   */
+  public ExtractionProblemSink getProblemSink() {
+    return problemSink;
+  }
+
+  /**
+   * @return the limits
+   */
+  public ExtractionLimits getLimits() {
+    return limits;
+  }
+
+  /**
+   * Parses the given HTML document with jsoup and extracts OpenGraph metadata from it. Documents
+   * that cannot possibly contain an og:type tag are rejected by a quick scan, without parsing them
+   * at all.
+   *
+   * @see OpenGraphPrescanner
+   */
+  public Optional<OpenGraphMetadata> extract(String html) {
+    ExtractionEvent event = new ExtractionEvent();
+    event.begin();
+
+    if (html.length() > limits.getMaxInputLength())
+      html = html.substring(0, (int) limits.getMaxInputLength());
+
+    if (!OpenGraphPrescanner.mayHaveType(html)) {
+      if (listener != ExtractionListener.NONE)
+        listener.extracted(new ExtractionMetrics(0L, 0, 0, 0, 0, false));
+      commit(event, html.length(), 0, null);
+      return Optional.empty();
+    }
 
-  private OpenGraphVideo.Builder videoBuilder;
-  private OpenGraphAudio.Builder audioBuilder;
-  private OpenGraphImage.Builder imageBuilder;
-  private OpenGraphMetadata.Builder builder;
+    ParseEvent parse = new ParseEvent();
+    parse.begin();
+    final long start = start();
+    Document doc = Jsoup.parse(html);
+    if (listener != ExtractionListener.NONE)
+      listener.parsed(System.nanoTime() - start);
+    parse.end();
+    if (parse.shouldCommit()) {
+      parse.documentSize = html.length();
+      parse.commit();
+    }
+
+    return extract(doc, event, html.length());
+  }
 
+  /**
+   * Extracts OpenGraph metadata from the {@code <meta>} children of the given document's head in a
+   * single pass.
+   */
   public Optional<OpenGraphMetadata> extract(Document doc) {
-    Elements metas = doc.select("head > meta[property][content]");
+    ExtractionEvent event = new ExtractionEvent();
+    event.begin();
+    return extract(doc, event, -1L);
+  }
+
+  private Optional<OpenGraphMetadata> extract(Document doc, ExtractionEvent event,
+      long documentSize) {
+    final long start = start();
+    ExtractionContext context = acquire();
+    try {
+      MetaScanEvent scan = new MetaScanEvent();
+      scan.begin();
+      new JsoupMetaTagSource(doc).emit(context);
+      commit(scan, context);
+
+      return finish(context, start, event, documentSize);
+    } finally {
+      release(context);
+    }
+  }
 
-    String type =
-        Optional.ofNullable(metas.select("[property=og:type]").first()).map(e -> e.attr("content"))
-            .map(String::strip).filter(Predicate.not(String::isEmpty)).orElse(null);
+  /**
+   * Extracts OpenGraph metadata from the meta tags reported by the given source. This is the
+   * extension point for plugging in a different HTML front-end.
+   *
+   * @see MetaTagSource
+   */
+  public Optional<OpenGraphMetadata> extract(MetaTagSource source) throws IOException {
+    ExtractionEvent event = new ExtractionEvent();
+    event.begin();
+    final long start = start();
+    ExtractionContext context = acquire();
+    try {
+      MetaScanEvent scan = new MetaScanEvent();
+      scan.begin();
+      source.emit(context);
+      commit(scan, context);
+
+      return finish(context, start, event, -1L);
+    } finally {
+      release(context);
+    }
+  }
 
-    OpenGraphMetadata result;
-    if (type != null) {
-      builder = OpenGraphMetadata.builder().withType(type);
+  /**
+   * Extracts OpenGraph metadata directly from the raw bytes of an HTML document without building a
+   * DOM. The document's charset is sniffed from its byte order mark or {@code <meta>} tags, and
+   * the bytes are decoded incrementally, so only the head of the document is read.
+   *
+   * @see CharsetSniffer
+   */
+  public Optional<OpenGraphMetadata> extract(InputStream html) throws IOException {
+    if (limits.getMaxInputLength() != Long.MAX_VALUE)
+      html = new LimitedInputStream(html, limits.getMaxInputLength());
+    return extract(CharsetSniffer.newReader(html));
+  }
 
-      Iterator<Element> iterator = metas.iterator();
-      while (iterator.hasNext()) {
-        Element element = iterator.next();
+  /**
+   * Extracts OpenGraph metadata directly from the raw bytes of an HTML document without building a
+   * DOM. The document's charset is sniffed from its byte order mark or {@code <meta>} tags, and
+   * the bytes are decoded incrementally, so only the head of the document is read.
+   *
+   * @see CharsetSniffer
+   */
+  public Optional<OpenGraphMetadata> extract(ReadableByteChannel html) throws IOException {
+    return extract(Channels.newInputStream(html));
+  }
 
-        String property = element.attr("property").toLowerCase();
-        String content = element.attr("content");
+  /**
+   * Extracts OpenGraph metadata directly from the raw bytes of an HTML document in the given
+   * buffer's remaining bytes, without building a DOM or copying the document. The document's
+   * charset is sniffed from its byte order mark or {@code <meta>} tags. Only the bytes up to the
+   * end of the head are decoded. The buffer's position is not changed.
+   *
+   * @see CharsetSniffer
+   */
+  public Optional<OpenGraphMetadata> extract(ByteBuffer html) {
+    return extract(html, null);
+  }
 
-        metadata(property, content);
+  /**
+   * Extracts OpenGraph metadata directly from the raw bytes of an HTML document in the given
+   * buffer's remaining bytes, without building a DOM or copying the document. If the document has
+   * a byte order mark, then it determines the charset. Otherwise, the given charset wins if it is
+   * not null, e.g., the charset from the HTTP response that carried the document. Otherwise, the
+   * document's {@code <meta>} tags decide. Only the bytes up to the end of the head are decoded.
+   * The buffer's position is not changed.
+   *
+   * @param charset the charset declared outside the document, or null if none
+   * @see CharsetSniffer#sniff(ByteBuffer, Charset)
+   */
+  public Optional<OpenGraphMetadata> extract(ByteBuffer html, Charset charset) {
+    ExtractionEvent event = new ExtractionEvent();
+    event.begin();
+    final long start = start();
+    ExtractionContext context = acquire();
+    try {
+      CharsetDecoder decoder = context
+          .getDecoder(CharsetSniffer.sniff(html, charset).orElse(CharsetSniffer.DEFAULT_CHARSET));
+      HeadMetaTokenizer tokenizer = context.getTokenizer();
+
+      MetaScanEvent scan = new MetaScanEvent();
+      scan.begin();
+      ByteBuffer in = html.duplicate();
+      if (in.remaining() > limits.getMaxInputLength())
+        in.limit(in.position() + (int) limits.getMaxInputLength());
+      CharBuffer out = context.getCharBuffer();
+      boolean decoded = false;
+      boolean flushed = false;
+      while (!tokenizer.isDone() && !flushed) {
+        // We replace bad input, so decoding only ever stops on underflow or overflow.
+        if (!decoded)
+          decoded = decoder.decode(in, out, true).isUnderflow();
+        if (decoded)
+          flushed = decoder.flush(out).isUnderflow();
+        out.flip();
+        tokenizer.tokenize(out.array(), out.arrayOffset() + out.position(), out.remaining());
+        out.clear();
       }
+      tokenizer.finish();
+      commit(scan, context);
 
-      if (imageBuilder != null)
-        builder.getImages().add(imageBuilder.build());
+      return finish(context, start, event, html.remaining());
+    } finally {
+      release(context);
+    }
+  }
 
-      if (videoBuilder != null)
-        builder.getVideos().add(videoBuilder.build());
+  /**
+   * Starts a push-style extraction, which accepts the bytes of a document as they arrive, e.g.,
+   * from the network. The document's charset is sniffed from its byte order mark or
+   * {@code <meta>} tags.
+   *
+   * @see OpenGraphExtractionSession
+   */
+  public OpenGraphExtractionSession newSession() {
+    return newSession(null);
+  }
 
-      if (audioBuilder != null)
-        builder.getAudios().add(audioBuilder.build());
+  /**
+   * Starts a push-style extraction, which accepts the bytes of a document as they arrive, e.g.,
+   * from the network. If the document has a byte order mark, then it determines the charset.
+   * Otherwise, the given charset wins if it is not null, e.g., the charset from the HTTP response
+   * headers. Otherwise, the document's {@code <meta>} tags decide.
+   *
+   * @param charset the charset declared outside the document, or null if none
+   * @see OpenGraphExtractionSession
+   */
+  public OpenGraphExtractionSession newSession(Charset charset) {
+    return new OpenGraphExtractionSession(this, charset);
+  }
 
-      result = builder.build();
+  ExtractionContext newContext() {
+    return new ExtractionContext(interner, problemSink, limits);
+  }
 
-      imageBuilder = null;
-      videoBuilder = null;
-      audioBuilder = null;
-      builder = null;
-    } else {
-      result = null;
-    }
+  /**
+   * @return an idle extraction context, or a new context if none is idle, e.g., because other
+   *         threads are extracting, or a listener or problem sink is extracting another document
+   */
+  private ExtractionContext acquire() {
+    ExtractionContext result = contexts.poll();
+    if (result == null)
+      result = newContext();
+    return result;
+  }
+
+  /**
+   * Returns the given context to the idle pool, or drops it if the pool is already full
+   */
+  private void release(ExtractionContext context) {
+    context.reset();
+    contexts.offer(context);
+  }
+
+  /**
+   * @return how many extraction contexts are waiting to be reused
+   */
+  int getIdleContextCount() {
+    return contexts.size();
+  }
 
+  /**
+   * @return the current time, if we're taking measurements, or 0 otherwise
+   */
+  long start() {
+    return listener != ExtractionListener.NONE ? System.nanoTime() : 0L;
+  }
+
+  Optional<OpenGraphMetadata> finish(ExtractionContext context, long start,
+      ExtractionEvent event, long documentSize) {
+    OpenGraphMetadata result = context.build();
+    if (listener != ExtractionListener.NONE) {
+      listener.extracted(new ExtractionMetrics(System.nanoTime() - start, context.getTagCount(),
+          context.getUnrecognizedTagCount(), context.getInvalidDimensionCount(),
+          context.getInvalidDateCount(), result != null));
+    }
+    commit(event, documentSize, context.getTagCount(), result != null ? result.getType() : null);
     return Optional.ofNullable(result);
   }
 
+  /**
+   * Ends the given event and commits it if Flight Recorder wants it. The fields are only filled in
+   * when the event will actually be recorded, so disabled events cost next to nothing.
+   */
+  static void commit(MetaScanEvent event, ExtractionContext context) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.tagCount = context.getTagCount();
+      event.commit();
+    }
+  }
+
+  static void commit(ExtractionEvent event, long documentSize, int tagCount,
+      String resultType) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.documentSize = documentSize;
+      event.tagCount = tagCount;
+      event.resultType = resultType;
+      event.commit();
+    }
+  }
+
+  /**
+   * Extracts OpenGraph metadata directly from HTML text without building a DOM. The text is
+   * tokenized only up to the end of the head, so the body of the document is never read. This
+   * produces the same result as parsing the whole document and calling {@link #extract(Document)},
+   * but at a small fraction of the cost.
+   *
+   * @see HeadMetaTokenizer
+   */
+  public Optional<OpenGraphMetadata> extract(Reader html) throws IOException {
+    ExtractionEvent event = new ExtractionEvent();
+    event.begin();
+    final long start = start();
+    ExtractionContext context = acquire();
+    try {
+      MetaScanEvent scan = new MetaScanEvent();
+      scan.begin();
+      context.getTokenizer().tokenize(html, context.getChars(), limits.getMaxInputLength());
+      commit(scan, context);
+
+      return finish(context, start, event, -1L);
+    } finally {
+      release(context);
+    }
+  }
+
   public static final String OG_TITLE_PROPERTY_NAME = "og:title";
 
   public static final String OG_TYPE_PROPERTY_NAME = "og:type";
@@ -165,224 +631,54 @@ public class OpenGraphExtractor {
 
   public static final String PROFILE_GENDER_PROPERTY_NAME = "profile:gender";
 
-  private void metadata(String property, String content) {
-    switch (property) {
-      case OG_TYPE_PROPERTY_NAME:
-        // Skip. We've already handled it above.
-        break;
-      case OG_TITLE_PROPERTY_NAME:
-        builder.setTitle(content);
-        break;
-      case OG_URL_PROPERTY_NAME:
-        builder.setUrl(content);
-        break;
-      case OG_DESCRIPTION_PROPERTY_NAME:
-        builder.setDescription(content);
-        break;
-      case OG_DETERMINER_PROPERTY_NAME:
-        builder.setDeterminer(content);
-        break;
-      case OG_LOCALE_PROPERTY_NAME:
-        builder.setLocale(content);
-        break;
-      case OG_LOCALE_ALTERNATE_PROPERTY_NAME:
-        builder.getAlternateLocales().add(content);
-        break;
-      case OG_SITE_NAME_PROPERTY_NAME:
-        builder.setSiteName(content);
-        break;
-      case OG_IMAGE_PROPERTY_NAME:
-        if (imageBuilder != null)
-          builder.getImages().add(imageBuilder.build());
-        imageBuilder = OpenGraphImage.builder(content);
-        break;
-      case OG_IMAGE_SECURE_URL_PROPERTY_NAME:
-        if (imageBuilder != null) {
-          imageBuilder.setSecureUrl(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no image is currently in flight", property);
-        }
-        break;
-      case OG_IMAGE_TYPE_PROPERTY_NAME:
-        if (imageBuilder != null) {
-          imageBuilder.setType(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no image is currently in flight", property);
-        }
-        break;
-      case OG_IMAGE_WIDTH_PROPERTY_NAME:
-        if (imageBuilder != null) {
-          Integer width;
-          try {
-            width = new BigDecimal(content).setScale(0, RoundingMode.DOWN).intValueExact();
-          } catch (NumberFormatException | ArithmeticException e) {
-            LOGGER.debug("Ignoring image {} tag {} due to invalid value {}", imageBuilder.getUrl(),
-                property, content);
-            width = null;
-          }
-          imageBuilder.setWidth(width);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no image is currently in flight", property);
-        }
-        break;
-      case OG_IMAGE_HEIGHT_PROPERTY_NAME:
-        if (imageBuilder != null) {
-          Integer height;
-          try {
-            height = new BigDecimal(content).setScale(0, RoundingMode.DOWN).intValueExact();
-          } catch (NumberFormatException | ArithmeticException e) {
-            LOGGER.debug("Ignoring image {} tag {} due to invalid value {}", imageBuilder.getUrl(),
-                property, content);
-            height = null;
-          }
-          imageBuilder.setHeight(height);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no image is currently in flight", property);
-        }
-        break;
-      case OG_IMAGE_ALT_PROPERTY_NAME:
-        if (imageBuilder != null) {
-          imageBuilder.setAlt(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no image is currently in flight", property);
-        }
-        break;
-      case OG_VIDEO_PROPERTY_NAME:
-        if (videoBuilder != null)
-          builder.getVideos().add(videoBuilder.build());
-        videoBuilder = OpenGraphVideo.builder(content);
-        break;
-      case OG_VIDEO_SECURE_URL_PROPERTY_NAME:
-        if (videoBuilder != null) {
-          videoBuilder.setSecureUrl(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no video is currently in flight", property);
-        }
-        break;
-      case OG_VIDEO_TYPE_PROPERTY_NAME:
-        if (videoBuilder != null) {
-          videoBuilder.setType(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no video is currently in flight", property);
-        }
-        break;
-      case OG_VIDEO_WIDTH_PROPERTY_NAME:
-        if (videoBuilder != null) {
-          Integer width;
-          try {
-            width = new BigDecimal(content).setScale(0, RoundingMode.DOWN).intValueExact();
-          } catch (NumberFormatException | ArithmeticException e) {
-            LOGGER.debug("Ignoring video {} tag {} due to invalid value {}", videoBuilder.getUrl(),
-                property, content);
-            width = null;
-          }
-          videoBuilder.setWidth(width);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no video is currently in flight", property);
-        }
-        break;
-      case OG_VIDEO_HEIGHT_PROPERTY_NAME:
-        if (videoBuilder != null) {
-          Integer height;
-          try {
-            height = new BigDecimal(content).setScale(0, RoundingMode.DOWN).intValueExact();
-          } catch (NumberFormatException | ArithmeticException e) {
-            LOGGER.debug("Ignoring video {} tag {} due to invalid value {}", videoBuilder.getUrl(),
-                property, content);
-            height = null;
-          }
-          videoBuilder.setHeight(height);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no video is currently in flight", property);
-        }
-        break;
-      case OG_VIDEO_ALT_PROPERTY_NAME:
-        if (videoBuilder != null) {
-          videoBuilder.setAlt(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no video is currently in flight", property);
-        }
-        break;
-      case OG_AUDIO_PROPERTY_NAME:
-        if (audioBuilder != null)
-          builder.getAudios().add(audioBuilder.build());
-        audioBuilder = OpenGraphAudio.builder(content);
-        break;
-      case OG_AUDIO_SECURE_URL_PROPERTY_NAME:
-        if (audioBuilder != null) {
-          audioBuilder.setSecureUrl(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no audio is currently in flight", property);
-        }
-        break;
-      case OG_AUDIO_TYPE_PROPERTY_NAME:
-        if (audioBuilder != null) {
-          audioBuilder.setType(content);
-        } else {
-          LOGGER.debug("Ignoring tag {} because no audio is currently in flight", property);
-        }
-        break;
-      case ARTICLE_PUBLISHED_TIME_PROPERTY_NAME:
-        try {
-          builder.setArticlePublishedTime(OffsetDateTime.parse(content));
-        } catch (DateTimeParseException e) {
-          LOGGER.debug("Ignoring tag {} due to invalid value {}", property, content, e);
-        }
-        break;
-      case ARTICLE_MODIFIED_TIME_PROPERTY_NAME:
-        try {
-          builder.setArticleModifiedTime(OffsetDateTime.parse(content));
-        } catch (DateTimeParseException e) {
-          LOGGER.debug("Ignoring tag {} due to invalid value {}", property, content, e);
-        }
-        break;
-      case ARTICLE_EXPIRATION_TIME_PROPERTY_NAME:
-        try {
-          builder.setArticleExpirationTime(OffsetDateTime.parse(content));
-        } catch (DateTimeParseException e) {
-          LOGGER.debug("Ignoring tag {} due to invalid value {}", property, content, e);
-        }
-        break;
-      case ARTICLE_AUTHOR_PROPERTY_NAME:
-        builder.getArticleAuthors().add(content);
-        break;
-      case ARTICLE_SECTION_PROPERTY_NAME:
-        builder.setArticleSection(content);
-        break;
-      case ARTICLE_TAG_PROPERTY_NAME:
-        builder.getArticleTags().add(content);
-        break;
-      case BOOK_AUTHOR_PROPERTY_NAME:
-        builder.getBookAuthors().add(content);
-        break;
-      case BOOK_ISBN_PROPERTY_NAME:
-        builder.setBookIsbn(content);
-        break;
-      case BOOK_RELEASE_DATE_PROPERTY_NAME:
-        try {
-          builder.setBookReleaseDate(OffsetDateTime.parse(content));
-        } catch (DateTimeParseException e) {
-          LOGGER.debug("Ignoring tag {} due to invalid value {}", property, content, e);
-        }
-        break;
-      case BOOK_TAG_PROPERTY_NAME:
-        builder.getBookTags().add(content);
-        break;
-      case PROFILE_FIRST_NAME_PROPERTY_NAME:
-        builder.setProfileFirstName(content);
-        break;
-      case PROFILE_LAST_NAME_PROPERTY_NAME:
-        builder.setProfileLastName(content);
-        break;
-      case PROFILE_USERNAME_PROPERTY_NAME:
-        builder.setProfileUsername(content);
-        break;
-      case PROFILE_GENDER_PROPERTY_NAME:
-        builder.setProfileGender(content);
-        break;
-      default:
-        LOGGER.trace("Ignoring tag {} because it is unrecognized", property);
-        break;
+  /**
+   * Stops reading after a fixed number of bytes.
+   */
+  private static class LimitedInputStream extends FilterInputStream {
+    private long remaining;
+
+    public LimitedInputStream(InputStream in, long limit) {
+      super(in);
+      this.remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (remaining <= 0L)
+        return -1;
+      int result = super.read();
+      if (result != -1)
+        remaining = remaining - 1;
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0)
+        return 0;
+      if (remaining <= 0L)
+        return -1;
+      int result = super.read(b, off, (int) Math.min(len, remaining));
+      if (result > 0)
+        remaining = remaining - result;
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long result = super.skip(Math.min(n, remaining));
+      remaining = remaining - result;
+      return result;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
     }
   }
 }
@@ -0,0 +1,150 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+/**
+ * The OpenGraph properties that {@link OpenGraphExtractor} understands, with a precompiled lookup
+ * table that matches property names without allocating.
+ */
+enum OpenGraphProperty {
+  OG_TITLE(OpenGraphExtractor.OG_TITLE_PROPERTY_NAME),
+  OG_TYPE(OpenGraphExtractor.OG_TYPE_PROPERTY_NAME),
+  OG_URL(OpenGraphExtractor.OG_URL_PROPERTY_NAME),
+  OG_DESCRIPTION(OpenGraphExtractor.OG_DESCRIPTION_PROPERTY_NAME),
+  OG_DETERMINER(OpenGraphExtractor.OG_DETERMINER_PROPERTY_NAME),
+  OG_LOCALE(OpenGraphExtractor.OG_LOCALE_PROPERTY_NAME),
+  OG_LOCALE_ALTERNATE(OpenGraphExtractor.OG_LOCALE_ALTERNATE_PROPERTY_NAME),
+  OG_SITE_NAME(OpenGraphExtractor.OG_SITE_NAME_PROPERTY_NAME),
+  OG_VIDEO(OpenGraphExtractor.OG_VIDEO_PROPERTY_NAME),
+  OG_VIDEO_SECURE_URL(OpenGraphExtractor.OG_VIDEO_SECURE_URL_PROPERTY_NAME),
+  OG_VIDEO_TYPE(OpenGraphExtractor.OG_VIDEO_TYPE_PROPERTY_NAME),
+  OG_VIDEO_WIDTH(OpenGraphExtractor.OG_VIDEO_WIDTH_PROPERTY_NAME),
+  OG_VIDEO_HEIGHT(OpenGraphExtractor.OG_VIDEO_HEIGHT_PROPERTY_NAME),
+  OG_VIDEO_ALT(OpenGraphExtractor.OG_VIDEO_ALT_PROPERTY_NAME),
+  OG_AUDIO(OpenGraphExtractor.OG_AUDIO_PROPERTY_NAME),
+  OG_AUDIO_SECURE_URL(OpenGraphExtractor.OG_AUDIO_SECURE_URL_PROPERTY_NAME),
+  OG_AUDIO_TYPE(OpenGraphExtractor.OG_AUDIO_TYPE_PROPERTY_NAME),
+  OG_IMAGE(OpenGraphExtractor.OG_IMAGE_PROPERTY_NAME),
+  OG_IMAGE_SECURE_URL(OpenGraphExtractor.OG_IMAGE_SECURE_URL_PROPERTY_NAME),
+  OG_IMAGE_TYPE(OpenGraphExtractor.OG_IMAGE_TYPE_PROPERTY_NAME),
+  OG_IMAGE_WIDTH(OpenGraphExtractor.OG_IMAGE_WIDTH_PROPERTY_NAME),
+  OG_IMAGE_HEIGHT(OpenGraphExtractor.OG_IMAGE_HEIGHT_PROPERTY_NAME),
+  OG_IMAGE_ALT(OpenGraphExtractor.OG_IMAGE_ALT_PROPERTY_NAME),
+  ARTICLE_PUBLISHED_TIME(OpenGraphExtractor.ARTICLE_PUBLISHED_TIME_PROPERTY_NAME),
+  ARTICLE_MODIFIED_TIME(OpenGraphExtractor.ARTICLE_MODIFIED_TIME_PROPERTY_NAME),
+  ARTICLE_EXPIRATION_TIME(OpenGraphExtractor.ARTICLE_EXPIRATION_TIME_PROPERTY_NAME),
+  ARTICLE_AUTHOR(OpenGraphExtractor.ARTICLE_AUTHOR_PROPERTY_NAME),
+  ARTICLE_SECTION(OpenGraphExtractor.ARTICLE_SECTION_PROPERTY_NAME),
+  ARTICLE_TAG(OpenGraphExtractor.ARTICLE_TAG_PROPERTY_NAME),
+  BOOK_AUTHOR(OpenGraphExtractor.BOOK_AUTHOR_PROPERTY_NAME),
+  BOOK_ISBN(OpenGraphExtractor.BOOK_ISBN_PROPERTY_NAME),
+  BOOK_RELEASE_DATE(OpenGraphExtractor.BOOK_RELEASE_DATE_PROPERTY_NAME),
+  BOOK_TAG(OpenGraphExtractor.BOOK_TAG_PROPERTY_NAME),
+  PROFILE_FIRST_NAME(OpenGraphExtractor.PROFILE_FIRST_NAME_PROPERTY_NAME),
+  PROFILE_LAST_NAME(OpenGraphExtractor.PROFILE_LAST_NAME_PROPERTY_NAME),
+  PROFILE_USERNAME(OpenGraphExtractor.PROFILE_USERNAME_PROPERTY_NAME),
+  PROFILE_GENDER(OpenGraphExtractor.PROFILE_GENDER_PROPERTY_NAME);
+
+  /**
+   * An open-addressed hash table of all properties by name. It is sized to keep probe sequences
+   * short, which makes lookups of unrecognized properties cheap, too.
+   */
+  private static final OpenGraphProperty[] TABLE = new OpenGraphProperty[128];
+
+  private static final int MIN_NAME_LENGTH;
+
+  private static final int MAX_NAME_LENGTH;
+
+  static {
+    int minNameLength = Integer.MAX_VALUE;
+    int maxNameLength = 0;
+    for (OpenGraphProperty property : values()) {
+      int index = hash(property.name, 0, property.name.length()) & (TABLE.length - 1);
+      while (TABLE[index] != null)
+        index = (index + 1) & (TABLE.length - 1);
+      TABLE[index] = property;
+      minNameLength = Math.min(minNameLength, property.name.length());
+      maxNameLength = Math.max(maxNameLength, property.name.length());
+    }
+    MIN_NAME_LENGTH = minNameLength;
+    MAX_NAME_LENGTH = maxNameLength;
+  }
+
+  /**
+   * Finds the property with the given name. Matching ignores ASCII case and any leading or trailing
+   * whitespace, and does not allocate.
+   *
+   * @return the property, or null if the name is not recognized
+   */
+  public static OpenGraphProperty lookup(CharSequence name) {
+    int start = 0;
+    int end = name.length();
+    while (start < end && Character.isWhitespace(name.charAt(start)))
+      start = start + 1;
+    while (end > start && Character.isWhitespace(name.charAt(end - 1)))
+      end = end - 1;
+
+    final int length = end - start;
+    if (length < MIN_NAME_LENGTH || length > MAX_NAME_LENGTH)
+      return null;
+
+    int index = hash(name, start, end) & (TABLE.length - 1);
+    for (OpenGraphProperty candidate = TABLE[index]; candidate != null; candidate =
+        TABLE[index = (index + 1) & (TABLE.length - 1)]) {
+      if (candidate.matches(name, start, end))
+        return candidate;
+    }
+
+    return null;
+  }
+
+  private static int hash(CharSequence s, int start, int end) {
+    int result = 0;
+    for (int i = start; i < end; i++)
+      result = 31 * result + toAsciiLowerCase(s.charAt(i));
+    return result ^ (result >>> 16);
+  }
+
+  private static char toAsciiLowerCase(char ch) {
+    return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+  }
+
+  private final String name;
+
+  private OpenGraphProperty(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the name of the property, e.g., "og:title"
+   */
+  public String getName() {
+    return name;
+  }
+
+  private boolean matches(CharSequence s, int start, int end) {
+    if (end - start != name.length())
+      return false;
+    for (int i = start; i < end; i++)
+      if (toAsciiLowerCase(s.charAt(i)) != name.charAt(i - start))
+        return false;
+    return true;
+  }
+}
@@ -0,0 +1,211 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * A 128-bit hash of a document's content, suitable for use as a cache key. It is computed with
+ * MurmurHash3 (x64, 128-bit variant), which is fast and distributes well. At 128 bits, the chance
+ * of two different documents colliding is negligible even across billions of documents.
+ *
+ * @see <a href="https://github.com/aappleby/smhasher">https://github.com/aappleby/smhasher</a>
+ */
+public final class ContentHash {
+  /**
+   * Hashes the characters of the given text directly, without encoding it first.
+   */
+  public static ContentHash of(CharSequence text) {
+    final int length = text.length();
+    Murmur3 murmur = new Murmur3();
+
+    int i = 0;
+    for (; i + 8 <= length; i += 8) {
+      long k1 = (long) text.charAt(i) | ((long) text.charAt(i + 1) << 16)
+          | ((long) text.charAt(i + 2) << 32) | ((long) text.charAt(i + 3) << 48);
+      long k2 = (long) text.charAt(i + 4) | ((long) text.charAt(i + 5) << 16)
+          | ((long) text.charAt(i + 6) << 32) | ((long) text.charAt(i + 7) << 48);
+      murmur.block(k1, k2);
+    }
+
+    long k1 = 0, k2 = 0;
+    for (int j = 0; i + j < length; j++) {
+      long ch = text.charAt(i + j);
+      if (j < 4) {
+        k1 = k1 | (ch << (16 * j));
+      } else {
+        k2 = k2 | (ch << (16 * (j - 4)));
+      }
+    }
+
+    return murmur.finish(k1, k2, 2L * length);
+  }
+
+  /**
+   * Hashes the remaining bytes of the given buffer without changing its position.
+   */
+  public static ContentHash of(ByteBuffer bytes) {
+    ByteBuffer buf = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+    final int length = buf.remaining();
+    Murmur3 murmur = new Murmur3();
+
+    int i = 0;
+    for (; i + 16 <= length; i += 16)
+      murmur.block(buf.getLong(i), buf.getLong(i + 8));
+
+    long k1 = 0, k2 = 0;
+    for (int j = 0; i + j < length; j++) {
+      long b = buf.get(i + j) & 0xFFL;
+      if (j < 8) {
+        k1 = k1 | (b << (8 * j));
+      } else {
+        k2 = k2 | (b << (8 * (j - 8)));
+      }
+    }
+
+    return murmur.finish(k1, k2, length);
+  }
+
+  /**
+   * Hashes the given bytes.
+   */
+  public static ContentHash of(byte[] bytes) {
+    return of(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Hashes the remaining bytes of the given buffer together with the charset declared for them
+   * outside the document, if any, since the same bytes may decode differently under different
+   * charsets. The buffer's position is not changed.
+   *
+   * @param charset the declared charset, or null if none, in which case the result is the same as
+   *        {@link #of(ByteBuffer)}
+   */
+  public static ContentHash of(ByteBuffer bytes, Charset charset) {
+    ContentHash result = of(bytes);
+    if (charset == null)
+      return result;
+    ContentHash name = of(charset.name());
+    return new ContentHash(31 * result.high + name.high, 31 * result.low + name.low);
+  }
+
+  private static class Murmur3 {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+
+    public void block(long k1, long k2) {
+      h1 = h1 ^ mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27);
+      h1 = h1 + h2;
+      h1 = h1 * 5 + 0x52dce729;
+
+      h2 = h2 ^ mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31);
+      h2 = h2 + h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    public ContentHash finish(long k1, long k2, long length) {
+      h1 = h1 ^ mixK1(k1);
+      h2 = h2 ^ mixK2(k2);
+
+      h1 = h1 ^ length;
+      h2 = h2 ^ length;
+
+      h1 = h1 + h2;
+      h2 = h2 + h1;
+
+      h1 = fmix64(h1);
+      h2 = fmix64(h2);
+
+      h1 = h1 + h2;
+      h2 = h2 + h1;
+
+      return new ContentHash(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+      k1 = k1 * C1;
+      k1 = Long.rotateLeft(k1, 31);
+      k1 = k1 * C2;
+      return k1;
+    }
+
+    private static long mixK2(long k2) {
+      k2 = k2 * C2;
+      k2 = Long.rotateLeft(k2, 33);
+      k2 = k2 * C1;
+      return k2;
+    }
+
+    private static long fmix64(long k) {
+      k = k ^ (k >>> 33);
+      k = k * 0xff51afd7ed558ccdL;
+      k = k ^ (k >>> 33);
+      k = k * 0xc4ceb9fe1a85ec53L;
+      k = k ^ (k >>> 33);
+      return k;
+    }
+  }
+
+  private final long high;
+
+  private final long low;
+
+  public ContentHash(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  public long getHigh() {
+    return high;
+  }
+
+  public long getLow() {
+    return low;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (high ^ (high >>> 32));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ContentHash other = (ContentHash) obj;
+    return high == other.high && low == other.low;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", high, low);
+  }
+}
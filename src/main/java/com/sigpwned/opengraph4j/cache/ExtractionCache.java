@@ -0,0 +1,51 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.cache;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+
+/**
+ * Memoizes extraction results by a hash of the document content, so byte-identical documents are
+ * only extracted once. Negative results, i.e., documents with no OpenGraph metadata, are cached
+ * too. Implementations must be thread-safe.
+ *
+ * @see LruExtractionCache
+ */
+public interface ExtractionCache {
+  /**
+   * Returns the cached result for the given key if present, or else computes it with the given
+   * extraction, caches it, and returns it. The extraction should run outside of any lock, so that
+   * a slow document does not hold up other threads.
+   */
+  public Optional<OpenGraphMetadata> get(ContentHash key,
+      Supplier<Optional<OpenGraphMetadata>> extraction);
+
+  /**
+   * Removes all entries from the cache.
+   */
+  public void clear();
+
+  /**
+   * @return a snapshot of this cache's statistics
+   */
+  public ExtractionCacheStats stats();
+}
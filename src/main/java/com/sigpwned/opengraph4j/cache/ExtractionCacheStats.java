@@ -0,0 +1,122 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.cache;
+
+import java.util.Objects;
+import com.sigpwned.opengraph4j.annotation.Generated;
+
+/**
+ * A point-in-time snapshot of an {@link ExtractionCache}'s statistics.
+ */
+public class ExtractionCacheStats {
+  public static ExtractionCacheStats of(long hitCount, long missCount, long evictionCount,
+      long size, long weight) {
+    return new ExtractionCacheStats(hitCount, missCount, evictionCount, size, weight);
+  }
+
+  /**
+   * The number of lookups that found a cached result.
+   */
+  private final long hitCount;
+
+  /**
+   * The number of lookups that had to extract a result.
+   */
+  private final long missCount;
+
+  /**
+   * The number of entries removed to stay within bounds.
+   */
+  private final long evictionCount;
+
+  /**
+   * The number of entries currently in the cache.
+   */
+  private final long size;
+
+  /**
+   * The total weight of the entries currently in the cache.
+   */
+  private final long weight;
+
+  public ExtractionCacheStats(long hitCount, long missCount, long evictionCount, long size,
+      long weight) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.size = size;
+    this.weight = weight;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * @return the fraction of lookups that were hits, or 1.0 if there have been no lookups
+   */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public int hashCode() {
+    return Objects.hash(evictionCount, hitCount, missCount, size, weight);
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ExtractionCacheStats other = (ExtractionCacheStats) obj;
+    return evictionCount == other.evictionCount && hitCount == other.hitCount
+        && missCount == other.missCount && size == other.size && weight == other.weight;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public String toString() {
+    return "ExtractionCacheStats [hitCount=" + hitCount + ", missCount=" + missCount
+        + ", evictionCount=" + evictionCount + ", size=" + size + ", weight=" + weight + "]";
+  }
+}
@@ -0,0 +1,238 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.cache;
+
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import com.sigpwned.opengraph4j.model.OpenGraphAudio;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+
+/**
+ * An {@link ExtractionCache} that evicts the least-recently used entries to stay within a maximum
+ * number of entries and a maximum total weight. By default, an entry's weight is an estimate of
+ * its retained size in bytes, so the weight bound works as a memory bound. Negative results are
+ * cheap to keep, so they weigh nothing and are bounded only by the number of entries.
+ *
+ * <p>
+ * This object is thread-safe. Lookups take a short lock, but extraction happens outside the lock,
+ * so concurrent misses on the same document may both extract it.
+ */
+public class LruExtractionCache implements ExtractionCache {
+  /**
+   * Roughly how many bytes an object header takes.
+   */
+  private static final long OBJECT_HEADER = 16;
+
+  /**
+   * How many bytes a reference takes, assuming uncompressed references to stay on the safe side.
+   */
+  private static final long REFERENCE_SIZE = 8;
+
+  /**
+   * Roughly how many bytes an {@link OffsetDateTime} retains, including its date, time, and offset.
+   * Offsets are usually cached, but are counted anyway.
+   */
+  private static final long DATE_TIME_SIZE = 4 * OBJECT_HEADER + 4 * REFERENCE_SIZE + 16;
+
+  /**
+   * Estimates the retained size of the given metadata in bytes. The metadata object itself holds
+   * 14 references, and the article, book, and profile properties each live in their own object,
+   * which is only present when at least one of its properties is.
+   */
+  public static long estimateWeight(OpenGraphMetadata metadata) {
+    long result = OBJECT_HEADER + 14 * REFERENCE_SIZE;
+    result = result + weigh(metadata.getType()) + weigh(metadata.getTitle())
+        + weigh(metadata.getUrl()) + weigh(metadata.getDescription())
+        + weigh(metadata.getDeterminer()) + weigh(metadata.getLocale())
+        + weigh(metadata.getAlternateLocales()) + weigh(metadata.getSiteName());
+
+    long article = weigh(metadata.getArticlePublishedTime())
+        + weigh(metadata.getArticleModifiedTime()) + weigh(metadata.getArticleExpirationTime())
+        + weigh(metadata.getArticleAuthors()) + weigh(metadata.getArticleSection())
+        + weigh(metadata.getArticleTags());
+    if (article != 0)
+      result = result + OBJECT_HEADER + 6 * REFERENCE_SIZE + article;
+
+    long book = weigh(metadata.getBookAuthors()) + weigh(metadata.getBookIsbn())
+        + weigh(metadata.getBookReleaseDate()) + weigh(metadata.getBookTags());
+    if (book != 0)
+      result = result + OBJECT_HEADER + 4 * REFERENCE_SIZE + book;
+
+    long profile = weigh(metadata.getProfileFirstName()) + weigh(metadata.getProfileLastName())
+        + weigh(metadata.getProfileUsername()) + weigh(metadata.getProfileGender());
+    if (profile != 0)
+      result = result + OBJECT_HEADER + 4 * REFERENCE_SIZE + profile;
+
+    // Images and videos hold four references and two ints each, and audios three references
+    result = result + weighList(metadata.getImages().size());
+    for (OpenGraphImage image : metadata.getImages())
+      result = result + OBJECT_HEADER + 4 * REFERENCE_SIZE + 2 * Integer.BYTES
+          + weigh(image.getUrl()) + weigh(image.getSecureUrl().orElse(null))
+          + weigh(image.getType().orElse(null)) + weigh(image.getAlt().orElse(null));
+    result = result + weighList(metadata.getVideos().size());
+    for (OpenGraphVideo video : metadata.getVideos())
+      result = result + OBJECT_HEADER + 4 * REFERENCE_SIZE + 2 * Integer.BYTES
+          + weigh(video.getUrl()) + weigh(video.getSecureUrl().orElse(null))
+          + weigh(video.getType().orElse(null)) + weigh(video.getAlt().orElse(null));
+    result = result + weighList(metadata.getAudios().size());
+    for (OpenGraphAudio audio : metadata.getAudios())
+      result = result + OBJECT_HEADER + 3 * REFERENCE_SIZE + weigh(audio.getUrl())
+          + weigh(audio.getSecureUrl().orElse(null)) + weigh(audio.getType().orElse(null));
+
+    return result;
+  }
+
+  /**
+   * Strings hold a hash, a coder, and a reference to a byte array, which holds one byte per
+   * character for Latin-1 text, or two otherwise. We assume the worst.
+   */
+  private static long weigh(String s) {
+    return s != null ? 2 * OBJECT_HEADER + REFERENCE_SIZE + 8 + 2L * s.length() : 0;
+  }
+
+  private static long weigh(OffsetDateTime t) {
+    return t != null ? DATE_TIME_SIZE : 0;
+  }
+
+  private static long weigh(List<String> xs) {
+    long result = weighList(xs.size());
+    for (String x : xs)
+      result = result + weigh(x);
+    return result;
+  }
+
+  /**
+   * Empty lists all share one instance, so they weigh nothing.
+   */
+  private static long weighList(int size) {
+    return size == 0 ? 0 : OBJECT_HEADER + REFERENCE_SIZE + size * REFERENCE_SIZE;
+  }
+
+  private static class Entry {
+    public final Optional<OpenGraphMetadata> value;
+    public final long weight;
+
+    public Entry(Optional<OpenGraphMetadata> value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  private final int maximumSize;
+  private final long maximumWeight;
+  private final ToLongFunction<OpenGraphMetadata> weigher;
+  private final LinkedHashMap<ContentHash, Entry> entries;
+  private long weight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates a cache bounded only by the number of entries.
+   */
+  public LruExtractionCache(int maximumSize) {
+    this(maximumSize, Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates a cache bounded by the number of entries and their total estimated size in bytes.
+   *
+   * @see #estimateWeight(OpenGraphMetadata)
+   */
+  public LruExtractionCache(int maximumSize, long maximumWeight) {
+    this(maximumSize, maximumWeight, LruExtractionCache::estimateWeight);
+  }
+
+  /**
+   * Creates a cache bounded by the number of entries and their total weight, as computed by the
+   * given weigher.
+   */
+  public LruExtractionCache(int maximumSize, long maximumWeight,
+      ToLongFunction<OpenGraphMetadata> weigher) {
+    if (maximumSize < 0)
+      throw new IllegalArgumentException("maximumSize must not be negative");
+    if (maximumWeight < 0)
+      throw new IllegalArgumentException("maximumWeight must not be negative");
+    if (weigher == null)
+      throw new NullPointerException();
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  @Override
+  public Optional<OpenGraphMetadata> get(ContentHash key,
+      Supplier<Optional<OpenGraphMetadata>> extraction) {
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        hitCount = hitCount + 1;
+        return entry.value;
+      }
+      missCount = missCount + 1;
+    }
+
+    Optional<OpenGraphMetadata> value = extraction.get();
+    long valueWeight = value.isPresent() ? weigher.applyAsLong(value.get()) : 0L;
+
+    if (maximumSize == 0 || valueWeight > maximumWeight)
+      return value;
+
+    synchronized (this) {
+      Entry previous = entries.put(key, new Entry(value, valueWeight));
+      if (previous != null)
+        weight = weight - previous.weight;
+      weight = weight + valueWeight;
+      evict();
+    }
+
+    return value;
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<ContentHash, Entry>> iterator = entries.entrySet().iterator();
+    while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+      Entry eldest = iterator.next().getValue();
+      iterator.remove();
+      weight = weight - eldest.weight;
+      evictionCount = evictionCount + 1;
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    entries.clear();
+    weight = 0;
+  }
+
+  @Override
+  public synchronized ExtractionCacheStats stats() {
+    return ExtractionCacheStats.of(hitCount, missCount, evictionCount, entries.size(), weight);
+  }
+}
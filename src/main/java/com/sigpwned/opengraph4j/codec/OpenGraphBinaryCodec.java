@@ -0,0 +1,696 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.sigpwned.opengraph4j.model.OpenGraphAudio;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+
+/**
+ * A compact, versioned binary encoding for batches of {@link OpenGraphMetadata}. A batch looks like
+ * this:
+ *
+ * <pre>
+ * magic      "OGB"
+ * version    1 byte
+ * count      varint, the number of records
+ * dictionary varint size, then for each string, varint length and UTF-8 bytes
+ * records    count records
+ * </pre>
+ *
+ * <p>
+ * Each record starts with a varint bitmap of the fields that are present, followed by the present
+ * fields in order. Every string, wherever it appears, is a varint reference into the batch's
+ * dictionary, so values repeated across records (site names, locales, MIME types, and so on) are
+ * only stored once. Reference 0 means null. Dates are stored as zigzag epoch seconds, varint
+ * nanoseconds, and zigzag offset seconds. Dimensions are varints.
+ *
+ * <p>
+ * Both encoding and decoding work directly against a {@link ByteBuffer}. Encoding computes the
+ * exact size of the batch up front, and writes strings straight into the buffer as UTF-8. Decoding
+ * reads each dictionary string once, straight out of the buffer's backing array when it has one,
+ * and shares it across every record that uses it.
+ */
+public final class OpenGraphBinaryCodec {
+  private OpenGraphBinaryCodec() {}
+
+  /**
+   * The version of the encoding this class writes. Decoding rejects any other version.
+   */
+  public static final int VERSION = 1;
+
+  private static final byte[] MAGIC = {'O', 'G', 'B'};
+
+  private static final int TYPE = 0;
+  private static final int TITLE = 1;
+  private static final int URL = 2;
+  private static final int DESCRIPTION = 3;
+  private static final int DETERMINER = 4;
+  private static final int LOCALE = 5;
+  private static final int ALTERNATE_LOCALES = 6;
+  private static final int SITE_NAME = 7;
+  private static final int IMAGES = 8;
+  private static final int VIDEOS = 9;
+  private static final int AUDIOS = 10;
+  private static final int ARTICLE_PUBLISHED_TIME = 11;
+  private static final int ARTICLE_MODIFIED_TIME = 12;
+  private static final int ARTICLE_EXPIRATION_TIME = 13;
+  private static final int ARTICLE_AUTHORS = 14;
+  private static final int ARTICLE_SECTION = 15;
+  private static final int ARTICLE_TAGS = 16;
+  private static final int BOOK_AUTHORS = 17;
+  private static final int BOOK_ISBN = 18;
+  private static final int BOOK_RELEASE_DATE = 19;
+  private static final int BOOK_TAGS = 20;
+  private static final int PROFILE_FIRST_NAME = 21;
+  private static final int PROFILE_LAST_NAME = 22;
+  private static final int PROFILE_USERNAME = 23;
+  private static final int PROFILE_GENDER = 24;
+
+  private static final int MEDIA_SECURE_URL = 0;
+  private static final int MEDIA_TYPE = 1;
+  private static final int MEDIA_WIDTH = 2;
+  private static final int MEDIA_HEIGHT = 3;
+  private static final int MEDIA_ALT = 4;
+
+  /**
+   * @return a new buffer, ready to read, that contains the given batch
+   */
+  public static ByteBuffer encode(List<OpenGraphMetadata> batch) {
+    Encoder encoder = new Encoder(batch);
+    ByteBuffer result = ByteBuffer.allocate(encoder.size());
+    encoder.write(result);
+    result.flip();
+    return result;
+  }
+
+  /**
+   * Writes the given batch into the given buffer at its current position, and advances the
+   * position past the batch.
+   *
+   * @throws BufferOverflowException if the batch does not fit in the buffer's remaining
+   *         space
+   */
+  public static void encode(List<OpenGraphMetadata> batch, ByteBuffer out) {
+    Encoder encoder = new Encoder(batch);
+    if (encoder.size() > out.remaining())
+      throw new BufferOverflowException();
+    encoder.write(out);
+  }
+
+  /**
+   * @return the number of bytes {@link #encode(List, ByteBuffer)} would write for the given batch
+   */
+  public static int encodedSize(List<OpenGraphMetadata> batch) {
+    return new Encoder(batch).size();
+  }
+
+  /**
+   * Reads one batch from the given buffer at its current position, and advances the position past
+   * the batch.
+   *
+   * @throws IllegalArgumentException if the buffer does not contain a valid batch
+   */
+  public static List<OpenGraphMetadata> decode(ByteBuffer in) {
+    try {
+      return new Decoder(in).read();
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("truncated batch", e);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("invalid date", e);
+    }
+  }
+
+  private static class Encoder {
+    private final List<OpenGraphMetadata> batch;
+
+    /**
+     * Maps each distinct string to its reference
+     */
+    private final Map<String, Integer> references;
+
+    /**
+     * The distinct strings, in reference order
+     */
+    private final List<String> dictionary;
+
+    /**
+     * Where we write, or null if we're only measuring
+     */
+    private ByteBuffer out;
+
+    /**
+     * How many bytes we've written, or would have written
+     */
+    private int size;
+
+    public Encoder(List<OpenGraphMetadata> batch) {
+      this.batch = batch;
+      this.references = new HashMap<>();
+      this.dictionary = new ArrayList<>();
+      for (OpenGraphMetadata metadata : batch)
+        collect(metadata);
+      this.size = -1;
+    }
+
+    private void collect(OpenGraphMetadata m) {
+      collect(m.getType());
+      collect(m.getTitle());
+      collect(m.getUrl());
+      collect(m.getDescription());
+      collect(m.getDeterminer());
+      collect(m.getLocale());
+      collect(m.getAlternateLocales());
+      collect(m.getSiteName());
+      for (OpenGraphImage image : m.getImages()) {
+        collect(image.getUrl());
+        collect(image.getSecureUrl().orElse(null));
+        collect(image.getType().orElse(null));
+        collect(image.getAlt().orElse(null));
+      }
+      for (OpenGraphVideo video : m.getVideos()) {
+        collect(video.getUrl());
+        collect(video.getSecureUrl().orElse(null));
+        collect(video.getType().orElse(null));
+        collect(video.getAlt().orElse(null));
+      }
+      for (OpenGraphAudio audio : m.getAudios()) {
+        collect(audio.getUrl());
+        collect(audio.getSecureUrl().orElse(null));
+        collect(audio.getType().orElse(null));
+      }
+      collect(m.getArticleAuthors());
+      collect(m.getArticleSection());
+      collect(m.getArticleTags());
+      collect(m.getBookAuthors());
+      collect(m.getBookIsbn());
+      collect(m.getBookTags());
+      collect(m.getProfileFirstName());
+      collect(m.getProfileLastName());
+      collect(m.getProfileUsername());
+      collect(m.getProfileGender());
+    }
+
+    private void collect(String s) {
+      if (s != null && !references.containsKey(s)) {
+        dictionary.add(s);
+        references.put(s, dictionary.size());
+      }
+    }
+
+    private void collect(List<String> xs) {
+      for (String x : xs)
+        collect(x);
+    }
+
+    /**
+     * @return the exact size of the encoded batch
+     */
+    public int size() {
+      if (size == -1) {
+        out = null;
+        size = 0;
+        batch();
+      }
+      return size;
+    }
+
+    public void write(ByteBuffer out) {
+      this.out = out;
+      batch();
+      this.out = null;
+    }
+
+    private void batch() {
+      for (byte b : MAGIC)
+        writeByte(b);
+      writeByte(VERSION);
+      writeVarint(batch.size());
+      writeVarint(dictionary.size());
+      for (String s : dictionary)
+        writeUtf8(s);
+      for (OpenGraphMetadata metadata : batch)
+        record(metadata);
+    }
+
+    private void record(OpenGraphMetadata m) {
+      long fields = 0L;
+      fields = fields | bit(TYPE, m.getType() != null);
+      fields = fields | bit(TITLE, m.getTitle() != null);
+      fields = fields | bit(URL, m.getUrl() != null);
+      fields = fields | bit(DESCRIPTION, m.getDescription() != null);
+      fields = fields | bit(DETERMINER, m.getDeterminer() != null);
+      fields = fields | bit(LOCALE, m.getLocale() != null);
+      fields = fields | bit(ALTERNATE_LOCALES, !m.getAlternateLocales().isEmpty());
+      fields = fields | bit(SITE_NAME, m.getSiteName() != null);
+      fields = fields | bit(IMAGES, !m.getImages().isEmpty());
+      fields = fields | bit(VIDEOS, !m.getVideos().isEmpty());
+      fields = fields | bit(AUDIOS, !m.getAudios().isEmpty());
+      fields = fields | bit(ARTICLE_PUBLISHED_TIME, m.getArticlePublishedTime() != null);
+      fields = fields | bit(ARTICLE_MODIFIED_TIME, m.getArticleModifiedTime() != null);
+      fields = fields | bit(ARTICLE_EXPIRATION_TIME, m.getArticleExpirationTime() != null);
+      fields = fields | bit(ARTICLE_AUTHORS, !m.getArticleAuthors().isEmpty());
+      fields = fields | bit(ARTICLE_SECTION, m.getArticleSection() != null);
+      fields = fields | bit(ARTICLE_TAGS, !m.getArticleTags().isEmpty());
+      fields = fields | bit(BOOK_AUTHORS, !m.getBookAuthors().isEmpty());
+      fields = fields | bit(BOOK_ISBN, m.getBookIsbn() != null);
+      fields = fields | bit(BOOK_RELEASE_DATE, m.getBookReleaseDate() != null);
+      fields = fields | bit(BOOK_TAGS, !m.getBookTags().isEmpty());
+      fields = fields | bit(PROFILE_FIRST_NAME, m.getProfileFirstName() != null);
+      fields = fields | bit(PROFILE_LAST_NAME, m.getProfileLastName() != null);
+      fields = fields | bit(PROFILE_USERNAME, m.getProfileUsername() != null);
+      fields = fields | bit(PROFILE_GENDER, m.getProfileGender() != null);
+      writeVarint(fields);
+
+      if (has(fields, TYPE))
+        writeString(m.getType());
+      if (has(fields, TITLE))
+        writeString(m.getTitle());
+      if (has(fields, URL))
+        writeString(m.getUrl());
+      if (has(fields, DESCRIPTION))
+        writeString(m.getDescription());
+      if (has(fields, DETERMINER))
+        writeString(m.getDeterminer());
+      if (has(fields, LOCALE))
+        writeString(m.getLocale());
+      if (has(fields, ALTERNATE_LOCALES))
+        writeStrings(m.getAlternateLocales());
+      if (has(fields, SITE_NAME))
+        writeString(m.getSiteName());
+      if (has(fields, IMAGES)) {
+        writeVarint(m.getImages().size());
+        for (OpenGraphImage image : m.getImages())
+          media(image.getUrl(), image.getSecureUrl().orElse(null), image.getType().orElse(null),
+              image.hasWidth(), image.widthOrDefault(0), image.hasHeight(),
+              image.heightOrDefault(0), image.getAlt().orElse(null));
+      }
+      if (has(fields, VIDEOS)) {
+        writeVarint(m.getVideos().size());
+        for (OpenGraphVideo video : m.getVideos())
+          media(video.getUrl(), video.getSecureUrl().orElse(null), video.getType().orElse(null),
+              video.hasWidth(), video.widthOrDefault(0), video.hasHeight(),
+              video.heightOrDefault(0), video.getAlt().orElse(null));
+      }
+      if (has(fields, AUDIOS)) {
+        writeVarint(m.getAudios().size());
+        for (OpenGraphAudio audio : m.getAudios())
+          media(audio.getUrl(), audio.getSecureUrl().orElse(null), audio.getType().orElse(null),
+              false, 0, false, 0, null);
+      }
+      if (has(fields, ARTICLE_PUBLISHED_TIME))
+        writeDateTime(m.getArticlePublishedTime());
+      if (has(fields, ARTICLE_MODIFIED_TIME))
+        writeDateTime(m.getArticleModifiedTime());
+      if (has(fields, ARTICLE_EXPIRATION_TIME))
+        writeDateTime(m.getArticleExpirationTime());
+      if (has(fields, ARTICLE_AUTHORS))
+        writeStrings(m.getArticleAuthors());
+      if (has(fields, ARTICLE_SECTION))
+        writeString(m.getArticleSection());
+      if (has(fields, ARTICLE_TAGS))
+        writeStrings(m.getArticleTags());
+      if (has(fields, BOOK_AUTHORS))
+        writeStrings(m.getBookAuthors());
+      if (has(fields, BOOK_ISBN))
+        writeString(m.getBookIsbn());
+      if (has(fields, BOOK_RELEASE_DATE))
+        writeDateTime(m.getBookReleaseDate());
+      if (has(fields, BOOK_TAGS))
+        writeStrings(m.getBookTags());
+      if (has(fields, PROFILE_FIRST_NAME))
+        writeString(m.getProfileFirstName());
+      if (has(fields, PROFILE_LAST_NAME))
+        writeString(m.getProfileLastName());
+      if (has(fields, PROFILE_USERNAME))
+        writeString(m.getProfileUsername());
+      if (has(fields, PROFILE_GENDER))
+        writeString(m.getProfileGender());
+    }
+
+    private void media(String url, String secureUrl, String type, boolean hasWidth, int width,
+        boolean hasHeight, int height, String alt) {
+      long fields = 0L;
+      fields = fields | bit(MEDIA_SECURE_URL, secureUrl != null);
+      fields = fields | bit(MEDIA_TYPE, type != null);
+      fields = fields | bit(MEDIA_WIDTH, hasWidth);
+      fields = fields | bit(MEDIA_HEIGHT, hasHeight);
+      fields = fields | bit(MEDIA_ALT, alt != null);
+      writeVarint(fields);
+
+      writeString(url);
+      if (has(fields, MEDIA_SECURE_URL))
+        writeString(secureUrl);
+      if (has(fields, MEDIA_TYPE))
+        writeString(type);
+      if (has(fields, MEDIA_WIDTH))
+        writeVarint(width);
+      if (has(fields, MEDIA_HEIGHT))
+        writeVarint(height);
+      if (has(fields, MEDIA_ALT))
+        writeString(alt);
+    }
+
+    private void writeString(String s) {
+      writeVarint(s != null ? references.get(s) : 0);
+    }
+
+    private void writeStrings(List<String> xs) {
+      writeVarint(xs.size());
+      for (String x : xs)
+        writeString(x);
+    }
+
+    private void writeDateTime(OffsetDateTime value) {
+      writeVarint(zigzag(value.toEpochSecond()));
+      writeVarint(value.getNano());
+      writeVarint(zigzag(value.getOffset().getTotalSeconds()));
+    }
+
+    /**
+     * Writes the given string's length in UTF-8 bytes, then its UTF-8 bytes, without allocating.
+     */
+    private void writeUtf8(String s) {
+      int length = 0;
+      for (int i = 0, n = s.length(); i < n; i++) {
+        char ch = s.charAt(i);
+        if (ch < 0x80) {
+          length = length + 1;
+        } else if (ch < 0x800) {
+          length = length + 2;
+        } else if (Character.isHighSurrogate(ch) && i + 1 < n
+            && Character.isLowSurrogate(s.charAt(i + 1))) {
+          length = length + 4;
+          i = i + 1;
+        } else if (Character.isSurrogate(ch)) {
+          length = length + 1;
+        } else {
+          length = length + 3;
+        }
+      }
+
+      writeVarint(length);
+
+      if (out == null) {
+        size = size + length;
+        return;
+      }
+
+      for (int i = 0, n = s.length(); i < n; i++) {
+        char ch = s.charAt(i);
+        if (ch < 0x80) {
+          out.put((byte) ch);
+        } else if (ch < 0x800) {
+          out.put((byte) (0xC0 | (ch >> 6)));
+          out.put((byte) (0x80 | (ch & 0x3F)));
+        } else if (Character.isHighSurrogate(ch) && i + 1 < n
+            && Character.isLowSurrogate(s.charAt(i + 1))) {
+          int cp = Character.toCodePoint(ch, s.charAt(i + 1));
+          out.put((byte) (0xF0 | (cp >> 18)));
+          out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+          out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+          out.put((byte) (0x80 | (cp & 0x3F)));
+          i = i + 1;
+        } else if (Character.isSurrogate(ch)) {
+          // Unpaired surrogates can't be encoded, so we replace them, like String.getBytes does
+          out.put((byte) '?');
+        } else {
+          out.put((byte) (0xE0 | (ch >> 12)));
+          out.put((byte) (0x80 | ((ch >> 6) & 0x3F)));
+          out.put((byte) (0x80 | (ch & 0x3F)));
+        }
+      }
+    }
+
+    private void writeVarint(long value) {
+      while ((value & ~0x7FL) != 0L) {
+        writeByte((int) ((value & 0x7F) | 0x80));
+        value = value >>> 7;
+      }
+      writeByte((int) value);
+    }
+
+    private void writeByte(int b) {
+      if (out != null)
+        out.put((byte) b);
+      size = size + 1;
+    }
+  }
+
+  private static class Decoder {
+    private final ByteBuffer in;
+    private String[] dictionary;
+
+    public Decoder(ByteBuffer in) {
+      this.in = in;
+    }
+
+    public List<OpenGraphMetadata> read() {
+      for (byte b : MAGIC)
+        if (in.get() != b)
+          throw new IllegalArgumentException("not an OpenGraph batch");
+      int version = in.get() & 0xFF;
+      if (version != VERSION)
+        throw new IllegalArgumentException("unsupported version " + version);
+
+      // Every record and every string takes at least one byte, so we can sanity-check the counts
+      // before allocating anything.
+      int count = readLength();
+      if (count > in.remaining())
+        throw new BufferUnderflowException();
+
+      int size = readLength();
+      if (size > in.remaining())
+        throw new BufferUnderflowException();
+
+      dictionary = new String[size + 1];
+      for (int i = 1; i < dictionary.length; i++)
+        dictionary[i] = readUtf8();
+
+      List<OpenGraphMetadata> result = new ArrayList<>(count);
+      for (int i = 0; i < count; i++)
+        result.add(record());
+
+      return result;
+    }
+
+    private OpenGraphMetadata record() {
+      long fields = readVarint();
+      OpenGraphMetadata.Builder builder = OpenGraphMetadata.builder();
+      if (has(fields, TYPE))
+        builder.setType(readString());
+      if (has(fields, TITLE))
+        builder.setTitle(readString());
+      if (has(fields, URL))
+        builder.setUrl(readString());
+      if (has(fields, DESCRIPTION))
+        builder.setDescription(readString());
+      if (has(fields, DETERMINER))
+        builder.setDeterminer(readString());
+      if (has(fields, LOCALE))
+        builder.setLocale(readString());
+      if (has(fields, ALTERNATE_LOCALES))
+        readStrings(builder.getAlternateLocales());
+      if (has(fields, SITE_NAME))
+        builder.setSiteName(readString());
+      if (has(fields, IMAGES)) {
+        for (int i = 0, n = readLength(); i < n; i++) {
+          long media = readVarint();
+          OpenGraphImage.Builder image = OpenGraphImage.builder(readUrl());
+          if (has(media, MEDIA_SECURE_URL))
+            image.setSecureUrl(readString());
+          if (has(media, MEDIA_TYPE))
+            image.setType(readString());
+          if (has(media, MEDIA_WIDTH))
+            image.setWidth(readDimension());
+          if (has(media, MEDIA_HEIGHT))
+            image.setHeight(readDimension());
+          if (has(media, MEDIA_ALT))
+            image.setAlt(readString());
+          builder.getImages().add(image.build());
+        }
+      }
+      if (has(fields, VIDEOS)) {
+        for (int i = 0, n = readLength(); i < n; i++) {
+          long media = readVarint();
+          OpenGraphVideo.Builder video = OpenGraphVideo.builder(readUrl());
+          if (has(media, MEDIA_SECURE_URL))
+            video.setSecureUrl(readString());
+          if (has(media, MEDIA_TYPE))
+            video.setType(readString());
+          if (has(media, MEDIA_WIDTH))
+            video.setWidth(readDimension());
+          if (has(media, MEDIA_HEIGHT))
+            video.setHeight(readDimension());
+          if (has(media, MEDIA_ALT))
+            video.setAlt(readString());
+          builder.getVideos().add(video.build());
+        }
+      }
+      if (has(fields, AUDIOS)) {
+        for (int i = 0, n = readLength(); i < n; i++) {
+          long media = readVarint();
+          OpenGraphAudio.Builder audio = OpenGraphAudio.builder(readUrl());
+          if (has(media, MEDIA_SECURE_URL))
+            audio.setSecureUrl(readString());
+          if (has(media, MEDIA_TYPE))
+            audio.setType(readString());
+          builder.getAudios().add(audio.build());
+        }
+      }
+      if (has(fields, ARTICLE_PUBLISHED_TIME))
+        builder.setArticlePublishedTime(readDateTime());
+      if (has(fields, ARTICLE_MODIFIED_TIME))
+        builder.setArticleModifiedTime(readDateTime());
+      if (has(fields, ARTICLE_EXPIRATION_TIME))
+        builder.setArticleExpirationTime(readDateTime());
+      if (has(fields, ARTICLE_AUTHORS))
+        readStrings(builder.getArticleAuthors());
+      if (has(fields, ARTICLE_SECTION))
+        builder.setArticleSection(readString());
+      if (has(fields, ARTICLE_TAGS))
+        readStrings(builder.getArticleTags());
+      if (has(fields, BOOK_AUTHORS))
+        readStrings(builder.getBookAuthors());
+      if (has(fields, BOOK_ISBN))
+        builder.setBookIsbn(readString());
+      if (has(fields, BOOK_RELEASE_DATE))
+        builder.setBookReleaseDate(readDateTime());
+      if (has(fields, BOOK_TAGS))
+        readStrings(builder.getBookTags());
+      if (has(fields, PROFILE_FIRST_NAME))
+        builder.setProfileFirstName(readString());
+      if (has(fields, PROFILE_LAST_NAME))
+        builder.setProfileLastName(readString());
+      if (has(fields, PROFILE_USERNAME))
+        builder.setProfileUsername(readString());
+      if (has(fields, PROFILE_GENDER))
+        builder.setProfileGender(readString());
+      return builder.build();
+    }
+
+    private String readString() {
+      long reference = readVarint();
+      if (reference < 0 || reference >= dictionary.length)
+        throw new IllegalArgumentException("invalid string reference " + reference);
+      return dictionary[(int) reference];
+    }
+
+    private String readUrl() {
+      String result = readString();
+      if (result == null)
+        throw new IllegalArgumentException("no url");
+      return result;
+    }
+
+    private void readStrings(List<String> result) {
+      for (int i = 0, n = readLength(); i < n; i++)
+        result.add(readString());
+    }
+
+    private int readDimension() {
+      long result = readVarint();
+      if (result < 0 || result > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("invalid dimension " + result);
+      return (int) result;
+    }
+
+    private OffsetDateTime readDateTime() {
+      long epochSecond = unzigzag(readVarint());
+      long nano = readVarint();
+      long offset = unzigzag(readVarint());
+      if (nano < 0 || nano > 999999999 || offset < -18 * 3600 || offset > 18 * 3600)
+        throw new IllegalArgumentException("invalid date");
+      return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+          ZoneOffset.ofTotalSeconds((int) offset));
+    }
+
+    /**
+     * Reads a string straight out of the buffer. Heap buffers are decoded in place, without an
+     * intermediate copy.
+     */
+    private String readUtf8() {
+      int length = readLength();
+      if (length > in.remaining())
+        throw new BufferUnderflowException();
+      String result;
+      if (in.hasArray()) {
+        result = new String(in.array(), in.arrayOffset() + in.position(), length,
+            StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+      } else {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        result = new String(bytes, StandardCharsets.UTF_8);
+      }
+      return result;
+    }
+
+    /**
+     * Reads a varint that must be a valid non-negative int, like a count or a length
+     */
+    private int readLength() {
+      long result = readVarint();
+      if (result < 0 || result > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("invalid length " + result);
+      return (int) result;
+    }
+
+    private long readVarint() {
+      long result = 0L;
+      for (int shift = 0; shift < 64; shift = shift + 7) {
+        byte b = in.get();
+        result = result | ((long) (b & 0x7F) << shift);
+        if ((b & 0x80) == 0)
+          return result;
+      }
+      throw new IllegalArgumentException("invalid varint");
+    }
+  }
+
+  private static long bit(int field, boolean present) {
+    return present ? 1L << field : 0L;
+  }
+
+  private static boolean has(long fields, int field) {
+    return (fields & (1L << field)) != 0L;
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
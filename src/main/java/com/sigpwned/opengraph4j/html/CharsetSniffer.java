@@ -0,0 +1,401 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Optional;
+
+/**
+ * Determines the character encoding of an HTML document from its first few bytes, following a
+ * simplified version of the HTML5 encoding sniffing algorithm. A byte order mark wins if present.
+ * Otherwise, the first {@code <meta charset>} or {@code <meta http-equiv="Content-Type">} tag
+ * decides.
+ *
+ * @see <a href=
+ *      "https://html.spec.whatwg.org/multipage/parsing.html#prescan-a-byte-stream-to-determine-its-encoding">https://html.spec.whatwg.org/multipage/parsing.html#prescan-a-byte-stream-to-determine-its-encoding</a>
+ */
+public final class CharsetSniffer {
+  private CharsetSniffer() {}
+
+  /**
+   * How many bytes at the start of a document we examine when looking for a charset declaration.
+   */
+  public static final int SNIFF_LENGTH = 4096;
+
+  /**
+   * The charset we use when a document doesn't declare one. This is the same default jsoup uses.
+   */
+  public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+  /**
+   * Returns a reader that decodes the given HTML document using its sniffed charset, or
+   * {@link #DEFAULT_CHARSET} if it does not declare one. Only the first {@link #SNIFF_LENGTH} bytes
+   * are read up front. The rest are read and decoded incrementally as the reader is consumed.
+   */
+  public static Reader newReader(InputStream html) throws IOException {
+    byte[] prefix = new byte[SNIFF_LENGTH];
+    int length = html.readNBytes(prefix, 0, prefix.length);
+
+    Charset charset = sniff(prefix, 0, length).orElse(DEFAULT_CHARSET);
+
+    InputStream bytes = new ByteArrayInputStream(prefix, 0, length);
+    if (length == prefix.length)
+      bytes = new SequenceInputStream(bytes, html);
+
+    return new InputStreamReader(bytes, charset);
+  }
+
+  /**
+   * Determines the charset of the HTML document that starts with the given bytes.
+   *
+   * @return the document's charset, or empty if the given bytes do not declare one
+   */
+  public static Optional<Charset> sniff(byte[] buf, int off, int len) {
+    Charset bom = bom(buf, off, len);
+    if (bom != null)
+      return Optional.of(bom);
+    return Optional.ofNullable(new Prescanner(buf, off, off + Math.min(len, SNIFF_LENGTH)).scan());
+  }
+
+  /**
+   * Determines the charset of the HTML document in the given buffer's remaining bytes. A byte order
+   * mark wins if present. Otherwise, the given transport charset wins if it is not null, e.g., the
+   * charset from an HTTP {@code Content-Type} header. Otherwise, the document's {@code <meta>} tags
+   * decide. The buffer's position is not changed.
+   *
+   * @param transportCharset the charset declared outside the document, or null if none
+   * @return the document's charset, or empty if neither the document nor the transport declares one
+   * @see #extractCharsetFromContent(String)
+   */
+  public static Optional<Charset> sniff(ByteBuffer buf, Charset transportCharset) {
+    byte[] bytes;
+    int off, len;
+    if (buf.hasArray()) {
+      bytes = buf.array();
+      off = buf.arrayOffset() + buf.position();
+      len = buf.remaining();
+    } else {
+      bytes = new byte[Math.min(buf.remaining(), SNIFF_LENGTH)];
+      buf.duplicate().get(bytes);
+      off = 0;
+      len = bytes.length;
+    }
+
+    Charset bom = bom(bytes, off, len);
+    if (bom != null)
+      return Optional.of(bom);
+    if (transportCharset != null)
+      return Optional.of(transportCharset);
+    return Optional
+        .ofNullable(new Prescanner(bytes, off, off + Math.min(len, SNIFF_LENGTH)).scan());
+  }
+
+  /**
+   * @return the charset indicated by the byte order mark at the start of the given bytes, or null
+   *         if there is no byte order mark
+   */
+  private static Charset bom(byte[] buf, int off, int len) {
+    if (len >= 3 && (buf[off] & 0xFF) == 0xEF && (buf[off + 1] & 0xFF) == 0xBB
+        && (buf[off + 2] & 0xFF) == 0xBF)
+      return StandardCharsets.UTF_8;
+    if (len >= 2 && (buf[off] & 0xFF) == 0xFE && (buf[off + 1] & 0xFF) == 0xFF)
+      return StandardCharsets.UTF_16;
+    if (len >= 2 && (buf[off] & 0xFF) == 0xFF && (buf[off + 1] & 0xFF) == 0xFE)
+      return StandardCharsets.UTF_16;
+    return null;
+  }
+
+  /**
+   * Implements the byte stream prescan. We stop at the first meta tag that declares a charset we
+   * support.
+   */
+  private static class Prescanner {
+    private final byte[] buf;
+    private final int end;
+    private int position;
+
+    private String attributeName;
+    private String attributeValue;
+
+    public Prescanner(byte[] buf, int off, int end) {
+      this.buf = buf;
+      this.end = end;
+      this.position = off;
+    }
+
+    public Charset scan() {
+      while (position < end) {
+        if (matches("<!--")) {
+          position = indexOf("-->", position + 2);
+          if (position == -1)
+            return null;
+          position = position + 3;
+        } else if (matchesIgnoreCase("<meta") && position + 5 < end
+            && (isWhitespace(buf[position + 5]) || buf[position + 5] == '/')) {
+          position = position + 6;
+          Charset charset = meta();
+          if (charset != null)
+            return charset;
+        } else if (position + 1 < end && buf[position] == '<'
+            && (isAsciiAlpha(buf[position + 1])
+                || (buf[position + 1] == '/' && position + 2 < end
+                    && isAsciiAlpha(buf[position + 2])))) {
+          // Skip the tag name, then all the attributes.
+          position = position + 1;
+          while (position < end && !isWhitespace(buf[position]) && buf[position] != '>')
+            position = position + 1;
+          while (attribute()) {
+            // Ignore.
+          }
+        } else if (matches("<!") || matches("</") || matches("<?")) {
+          position = indexOf(">", position);
+          if (position == -1)
+            return null;
+          position = position + 1;
+        } else {
+          position = position + 1;
+        }
+      }
+      return null;
+    }
+
+    private Charset meta() {
+      boolean gotPragma = false;
+      Boolean needPragma = null;
+      Charset charset = null;
+      boolean charsetSeen = false;
+      boolean httpEquivSeen = false;
+      boolean contentSeen = false;
+
+      while (attribute()) {
+        if (attributeName.equals("http-equiv") && !httpEquivSeen) {
+          httpEquivSeen = true;
+          if (attributeValue.equals("content-type"))
+            gotPragma = true;
+        } else if (attributeName.equals("content") && !contentSeen) {
+          contentSeen = true;
+          if (charset == null) {
+            Charset candidate = extractCharsetFromContent(attributeValue);
+            if (candidate != null) {
+              charset = candidate;
+              needPragma = Boolean.TRUE;
+            }
+          }
+        } else if (attributeName.equals("charset") && !charsetSeen) {
+          charsetSeen = true;
+          Charset candidate = charset(attributeValue);
+          if (candidate != null) {
+            charset = candidate;
+            needPragma = Boolean.FALSE;
+          }
+        }
+      }
+
+      if (needPragma == null || (needPragma.booleanValue() && !gotPragma))
+        return null;
+
+      return charset;
+    }
+
+    /**
+     * Reads the next attribute of the current tag into {@link #attributeName} and
+     * {@link #attributeValue}, both lowercased.
+     *
+     * @return true if there was an attribute, or false if we reached the end of the tag
+     */
+    private boolean attribute() {
+      while (position < end && (isWhitespace(buf[position]) || buf[position] == '/'))
+        position = position + 1;
+      if (position >= end || buf[position] == '>') {
+        position = position + 1;
+        return false;
+      }
+
+      StringBuilder name = new StringBuilder();
+      StringBuilder value = new StringBuilder();
+
+      // Name
+      do {
+        byte b = buf[position];
+        if (b == '=' && name.length() != 0)
+          break;
+        if (isWhitespace(b))
+          break;
+        if (b == '/' || b == '>') {
+          attributeName = name.toString();
+          attributeValue = "";
+          return true;
+        }
+        name.append(toAsciiLowerCase(b));
+        position = position + 1;
+      } while (position < end);
+
+      while (position < end && isWhitespace(buf[position]))
+        position = position + 1;
+      if (position >= end || buf[position] != '=') {
+        attributeName = name.toString();
+        attributeValue = "";
+        return true;
+      }
+      position = position + 1;
+      while (position < end && isWhitespace(buf[position]))
+        position = position + 1;
+
+      // Value
+      if (position < end && (buf[position] == '"' || buf[position] == '\'')) {
+        byte quote = buf[position];
+        position = position + 1;
+        while (position < end && buf[position] != quote) {
+          value.append(toAsciiLowerCase(buf[position]));
+          position = position + 1;
+        }
+        position = position + 1;
+      } else {
+        while (position < end && !isWhitespace(buf[position]) && buf[position] != '>') {
+          value.append(toAsciiLowerCase(buf[position]));
+          position = position + 1;
+        }
+      }
+
+      attributeName = name.toString();
+      attributeValue = value.toString();
+
+      return true;
+    }
+
+    private boolean matches(String s) {
+      if (position + s.length() > end)
+        return false;
+      for (int i = 0; i < s.length(); i++)
+        if (buf[position + i] != s.charAt(i))
+          return false;
+      return true;
+    }
+
+    private boolean matchesIgnoreCase(String s) {
+      if (position + s.length() > end)
+        return false;
+      for (int i = 0; i < s.length(); i++)
+        if (toAsciiLowerCase(buf[position + i]) != s.charAt(i))
+          return false;
+      return true;
+    }
+
+    private int indexOf(String s, int from) {
+      for (int i = from; i + s.length() <= end; i++) {
+        int j = 0;
+        while (j < s.length() && buf[i + j] == s.charAt(j))
+          j = j + 1;
+        if (j == s.length())
+          return i;
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Extracts a charset from the value of a {@code Content-Type} header or a meta tag's
+   * {@code content} attribute, e.g., {@code text/html; charset=utf-8}.
+   *
+   * @return the charset, or null if the value does not name a supported charset
+   */
+  public static Charset extractCharsetFromContent(String content) {
+    String lowerContent = content.toLowerCase();
+    int position = 0;
+    while (true) {
+      int index = lowerContent.indexOf("charset", position);
+      if (index == -1)
+        return null;
+
+      position = index + "charset".length();
+      while (position < content.length() && isWhitespace(content.charAt(position)))
+        position = position + 1;
+      if (position < content.length() && content.charAt(position) == '=')
+        break;
+    }
+
+    position = position + 1;
+    while (position < content.length() && isWhitespace(content.charAt(position)))
+      position = position + 1;
+    if (position >= content.length())
+      return null;
+
+    String value;
+    char ch = content.charAt(position);
+    if (ch == '"' || ch == '\'') {
+      int close = content.indexOf(ch, position + 1);
+      if (close == -1)
+        return null;
+      value = content.substring(position + 1, close);
+    } else {
+      int stop = position;
+      while (stop < content.length() && !isWhitespace(content.charAt(stop))
+          && content.charAt(stop) != ';')
+        stop = stop + 1;
+      value = content.substring(position, stop);
+    }
+
+    return charset(value);
+  }
+
+  /**
+   * @return the supported charset with the given name, or null if there is no such charset
+   */
+  private static Charset charset(String name) {
+    name = name.strip();
+    if (name.isEmpty())
+      return null;
+
+    Charset result;
+    try {
+      result = Charset.forName(name);
+    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+      return null;
+    }
+
+    // A document that we could read in ASCII can't really be UTF-16, so the spec says to use UTF-8.
+    if (result.name().startsWith("UTF-16"))
+      result = StandardCharsets.UTF_8;
+
+    return result;
+  }
+
+  private static boolean isWhitespace(int ch) {
+    return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f';
+  }
+
+  private static boolean isAsciiAlpha(byte b) {
+    return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+  }
+
+  private static char toAsciiLowerCase(byte b) {
+    return b >= 'A' && b <= 'Z' ? (char) (b + ('a' - 'A')) : (char) (b & 0xFF);
+  }
+}
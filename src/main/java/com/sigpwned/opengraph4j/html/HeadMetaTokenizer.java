@@ -0,0 +1,670 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import java.io.IOException;
+import java.io.Reader;
+import org.jsoup.parser.Parser;
+
+/**
+ * A streaming HTML tokenizer that reports the {@code <meta property content>} tags in the head of
+ * a document and stops as soon as the head ends. It never builds a DOM, and it never looks at the
+ * body of the document.
+ *
+ * <p>
+ * The tokenizer follows the HTML5 tokenization rules closely enough to skip comments, doctypes,
+ * quoted attribute values, and the contents of {@code script}, {@code style}, {@code title}, and
+ * similar elements correctly. It decides where the head ends the same way the HTML5 tree builder
+ * (and therefore jsoup) does: at the first {@code body} tag, the first start tag that does not
+ * belong in the head, or the first non-whitespace text. Meta tags that appear after
+ * {@code </head>} but before any of those are still part of the head, just as they are in jsoup.
+ * Meta tags inside {@code noscript} and {@code template} elements are not children of the head, so
+ * they are not reported.
+ *
+ * <p>
+ * The tokenizer is built to be cheap. It skips runs of characters that cannot change its state,
+ * like the contents of scripts and comments, in tight loops instead of one step at a time, and it
+ * reuses the same buffers for every tag, so it allocates only when a value contains an entity.
+ *
+ * <p>
+ * Input can be fed incrementally, so the tokenizer works with any chunking of the input. This
+ * object is not thread-safe.
+ */
+public class HeadMetaTokenizer {
+  /**
+   * Tokenizes the given document, reading only as much of it as is required to find the end of the
+   * head.
+   */
+  public static void tokenize(Reader html, MetaTagHandler handler) throws IOException {
+    tokenize(html, handler, Long.MAX_VALUE);
+  }
+
+  /**
+   * Tokenizes the given document, reading only as much of it as is required to find the end of the
+   * head, and never more than the given number of characters.
+   */
+  public static void tokenize(Reader html, MetaTagHandler handler, long maxLength)
+      throws IOException {
+    new HeadMetaTokenizer(handler).tokenize(html, new char[BUFFER_SIZE], maxLength);
+  }
+
+  /**
+   * Tokenizes the given document, examining only as much of it as is required to find the end of
+   * the head.
+   */
+  public static void tokenize(CharSequence html, MetaTagHandler handler) {
+    HeadMetaTokenizer tokenizer = new HeadMetaTokenizer(handler);
+    tokenizer.tokenize(html);
+    tokenizer.finish();
+  }
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * We only ever need to recognize a handful of short tag names, so we don't bother keeping more
+   * than this many characters of any tag name.
+   */
+  private static final int MAX_TAG_NAME_LENGTH = 16;
+
+  /**
+   * Buffers bigger than this many characters are released on reset instead of kept.
+   */
+  private static final int MAX_RETAINED_BUFFER_LENGTH = 4096;
+
+  private static enum State {
+    DATA, TAG_OPEN, END_TAG_OPEN, TAG_NAME, BEFORE_ATTRIBUTE_NAME, ATTRIBUTE_NAME,
+    AFTER_ATTRIBUTE_NAME, BEFORE_ATTRIBUTE_VALUE, ATTRIBUTE_VALUE_DOUBLE_QUOTED,
+    ATTRIBUTE_VALUE_SINGLE_QUOTED, ATTRIBUTE_VALUE_UNQUOTED, AFTER_ATTRIBUTE_VALUE_QUOTED,
+    SELF_CLOSING_START_TAG, MARKUP_DECLARATION_OPEN, MARKUP_DECLARATION_DASH, COMMENT,
+    BOGUS_COMMENT, RAW_TEXT, RAW_TEXT_LESS_THAN_SIGN, RAW_TEXT_END_TAG_NAME;
+  }
+
+  private final MetaTagHandler handler;
+  private State state;
+  private boolean done;
+  private boolean started;
+
+  private final StringBuilder tagName;
+  private boolean tagNameTruncated;
+  private boolean endTag;
+  private boolean metaTag;
+
+  private final StringBuilder attributeName;
+  private final StringBuilder attributeValue;
+  private final StringBuilder property;
+  private boolean hasProperty;
+  private final StringBuilder content;
+  private boolean hasContent;
+
+  private int commentDashes;
+  private String rawTextTagName;
+  private int rawTextTagNameIndex;
+
+  private boolean inNoscript;
+  private int templateDepth;
+
+  public HeadMetaTokenizer(MetaTagHandler handler) {
+    if (handler == null)
+      throw new NullPointerException();
+    this.handler = handler;
+    this.state = State.DATA;
+    this.tagName = new StringBuilder(MAX_TAG_NAME_LENGTH);
+    this.attributeName = new StringBuilder();
+    this.attributeValue = new StringBuilder();
+    this.property = new StringBuilder();
+    this.content = new StringBuilder();
+  }
+
+  /**
+   * Feeds the given document to the tokenizer, reading it into the given buffer, and then signals
+   * the end of input. Reads only as much of the document as is required to find the end of the
+   * head, and never more than the given number of characters.
+   */
+  public void tokenize(Reader html, char[] buf, long maxLength) throws IOException {
+    long remaining = maxLength;
+    while (remaining > 0L && !done) {
+      int len = html.read(buf, 0, (int) Math.min(buf.length, remaining));
+      if (len == -1)
+        break;
+      tokenize(buf, 0, len);
+      remaining = remaining - len;
+    }
+    finish();
+  }
+
+  /**
+   * Feeds the given characters to the tokenizer. Has no effect once the tokenizer is done.
+   */
+  public void tokenize(char[] buf, int off, int len) {
+    final int end = off + len;
+    int i = off;
+    while (i < end && !done) {
+      i = skip(buf, i, end);
+      if (i < end && step(buf[i]))
+        i = i + 1;
+    }
+  }
+
+  /**
+   * Feeds the given characters to the tokenizer. Has no effect once the tokenizer is done.
+   */
+  public void tokenize(CharSequence cs) {
+    final int len = cs.length();
+    final char[] buf = new char[Math.min(len, BUFFER_SIZE)];
+    for (int start = 0; start < len && !done; start = start + buf.length) {
+      final int n = Math.min(buf.length, len - start);
+      if (cs instanceof String) {
+        ((String) cs).getChars(start, start + n, buf, 0);
+      } else {
+        for (int i = 0; i < n; i++)
+          buf[i] = cs.charAt(start + i);
+      }
+      tokenize(buf, 0, n);
+    }
+  }
+
+  /**
+   * Signals the end of input. Any partial tag is discarded, just like the HTML5 tokenizer does.
+   */
+  public void finish() {
+    done = true;
+  }
+
+  /**
+   * Returns the tokenizer to its initial state, ready for a new document. The tokenizer keeps its
+   * buffers, unless a very long value has grown them.
+   */
+  public void reset() {
+    state = State.DATA;
+    done = false;
+    started = false;
+    tagName.setLength(0);
+    tagNameTruncated = false;
+    endTag = false;
+    metaTag = false;
+    clear(attributeName);
+    clear(attributeValue);
+    clear(property);
+    hasProperty = false;
+    clear(content);
+    hasContent = false;
+    commentDashes = 0;
+    rawTextTagName = null;
+    rawTextTagNameIndex = 0;
+    inNoscript = false;
+    templateDepth = 0;
+  }
+
+  private static void clear(StringBuilder sb) {
+    sb.setLength(0);
+    if (sb.capacity() > MAX_RETAINED_BUFFER_LENGTH)
+      sb.trimToSize();
+  }
+
+  /**
+   * @return true if the tokenizer has seen the end of the head or the end of input, and will
+   *         report no more tags, or false otherwise
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  /**
+   * Skips over the run of characters starting at the given index that would not change the state
+   * of the tokenizer, i.e., that {@link #step(char)} would simply consume. This is where the
+   * tokenizer spends most of its time, since scripts, styles, and comments make up the bulk of
+   * most heads.
+   *
+   * @return the index of the first character that must go through {@link #step(char)}, or end
+   */
+  private int skip(char[] buf, int i, int end) {
+    final int start = i;
+    switch (state) {
+      case DATA:
+        if (!started)
+          return i;
+        while (i < end && isWhitespace(buf[i]))
+          i = i + 1;
+        return i;
+      case ATTRIBUTE_VALUE_DOUBLE_QUOTED:
+        while (i < end && buf[i] != '"')
+          i = i + 1;
+        if (metaTag)
+          attributeValue.append(buf, start, i - start);
+        return i;
+      case ATTRIBUTE_VALUE_SINGLE_QUOTED:
+        while (i < end && buf[i] != '\'')
+          i = i + 1;
+        if (metaTag)
+          attributeValue.append(buf, start, i - start);
+        return i;
+      case COMMENT:
+        while (i < end && buf[i] != '-' && buf[i] != '>')
+          i = i + 1;
+        if (i != start)
+          commentDashes = 0;
+        return i;
+      case BOGUS_COMMENT:
+        while (i < end && buf[i] != '>')
+          i = i + 1;
+        return i;
+      case RAW_TEXT:
+        while (i < end && buf[i] != '<')
+          i = i + 1;
+        return i;
+      default:
+        return i;
+    }
+  }
+
+  /**
+   * Processes one character.
+   *
+   * @return true if the character was consumed, or false if it should be reprocessed in the new
+   *         state
+   */
+  private boolean step(char ch) {
+    switch (state) {
+      case DATA:
+        if (ch == '<') {
+          state = State.TAG_OPEN;
+        } else if (!isWhitespace(ch) && !(ch == '\uFEFF' && !started) && templateDepth == 0) {
+          // Non-whitespace text closes the head.
+          done = true;
+        }
+        started = true;
+        return true;
+      case TAG_OPEN:
+        if (ch == '!') {
+          state = State.MARKUP_DECLARATION_OPEN;
+        } else if (ch == '/') {
+          state = State.END_TAG_OPEN;
+        } else if (isAsciiAlpha(ch)) {
+          startTag(false);
+          return false;
+        } else if (ch == '?') {
+          state = State.BOGUS_COMMENT;
+        } else {
+          // This is just a stray less-than sign, which is text.
+          if (templateDepth == 0)
+            done = true;
+          state = State.DATA;
+          return false;
+        }
+        return true;
+      case END_TAG_OPEN:
+        if (isAsciiAlpha(ch)) {
+          startTag(true);
+          return false;
+        } else if (ch == '>') {
+          state = State.DATA;
+        } else {
+          state = State.BOGUS_COMMENT;
+          return false;
+        }
+        return true;
+      case TAG_NAME:
+        if (isWhitespace(ch) || ch == '/' || ch == '>') {
+          metaTag = !endTag && !tagNameTruncated && contentEquals(tagName, "meta");
+          state = State.BEFORE_ATTRIBUTE_NAME;
+          return false;
+        } else if (tagName.length() < MAX_TAG_NAME_LENGTH) {
+          tagName.append(toAsciiLowerCase(ch));
+        } else {
+          tagNameTruncated = true;
+        }
+        return true;
+      case BEFORE_ATTRIBUTE_NAME:
+        if (isWhitespace(ch)) {
+          // Ignore.
+        } else if (ch == '/' || ch == '>') {
+          state = State.AFTER_ATTRIBUTE_NAME;
+          return false;
+        } else {
+          attributeName.setLength(0);
+          attributeValue.setLength(0);
+          state = State.ATTRIBUTE_NAME;
+          if (ch == '=') {
+            appendAttributeName(ch);
+          } else {
+            return false;
+          }
+        }
+        return true;
+      case ATTRIBUTE_NAME:
+        if (isWhitespace(ch) || ch == '/' || ch == '>') {
+          state = State.AFTER_ATTRIBUTE_NAME;
+          return false;
+        } else if (ch == '=') {
+          state = State.BEFORE_ATTRIBUTE_VALUE;
+        } else {
+          appendAttributeName(ch);
+        }
+        return true;
+      case AFTER_ATTRIBUTE_NAME:
+        if (isWhitespace(ch)) {
+          // Ignore.
+        } else if (ch == '/') {
+          attribute();
+          state = State.SELF_CLOSING_START_TAG;
+        } else if (ch == '=') {
+          state = State.BEFORE_ATTRIBUTE_VALUE;
+        } else if (ch == '>') {
+          attribute();
+          emitTag();
+        } else {
+          attribute();
+          attributeName.setLength(0);
+          attributeValue.setLength(0);
+          state = State.ATTRIBUTE_NAME;
+          return false;
+        }
+        return true;
+      case BEFORE_ATTRIBUTE_VALUE:
+        if (isWhitespace(ch)) {
+          // Ignore.
+        } else if (ch == '"') {
+          state = State.ATTRIBUTE_VALUE_DOUBLE_QUOTED;
+        } else if (ch == '\'') {
+          state = State.ATTRIBUTE_VALUE_SINGLE_QUOTED;
+        } else if (ch == '>') {
+          attribute();
+          emitTag();
+        } else {
+          state = State.ATTRIBUTE_VALUE_UNQUOTED;
+          return false;
+        }
+        return true;
+      case ATTRIBUTE_VALUE_DOUBLE_QUOTED:
+        if (ch == '"') {
+          attribute();
+          state = State.AFTER_ATTRIBUTE_VALUE_QUOTED;
+        } else {
+          appendAttributeValue(ch);
+        }
+        return true;
+      case ATTRIBUTE_VALUE_SINGLE_QUOTED:
+        if (ch == '\'') {
+          attribute();
+          state = State.AFTER_ATTRIBUTE_VALUE_QUOTED;
+        } else {
+          appendAttributeValue(ch);
+        }
+        return true;
+      case ATTRIBUTE_VALUE_UNQUOTED:
+        if (isWhitespace(ch)) {
+          attribute();
+          state = State.BEFORE_ATTRIBUTE_NAME;
+        } else if (ch == '>') {
+          attribute();
+          emitTag();
+        } else {
+          appendAttributeValue(ch);
+        }
+        return true;
+      case AFTER_ATTRIBUTE_VALUE_QUOTED:
+        if (isWhitespace(ch)) {
+          state = State.BEFORE_ATTRIBUTE_NAME;
+        } else if (ch == '/') {
+          state = State.SELF_CLOSING_START_TAG;
+        } else if (ch == '>') {
+          emitTag();
+        } else {
+          state = State.BEFORE_ATTRIBUTE_NAME;
+          return false;
+        }
+        return true;
+      case SELF_CLOSING_START_TAG:
+        if (ch == '>') {
+          emitTag();
+        } else {
+          state = State.BEFORE_ATTRIBUTE_NAME;
+          return false;
+        }
+        return true;
+      case MARKUP_DECLARATION_OPEN:
+        if (ch == '-') {
+          state = State.MARKUP_DECLARATION_DASH;
+        } else {
+          // Doctypes, CDATA sections, and the like all run to the next greater-than sign.
+          state = State.BOGUS_COMMENT;
+          return false;
+        }
+        return true;
+      case MARKUP_DECLARATION_DASH:
+        if (ch == '-') {
+          // Per the spec, <!--> and <!---> are complete comments, so start as if we'd seen "--".
+          commentDashes = 2;
+          state = State.COMMENT;
+        } else {
+          state = State.BOGUS_COMMENT;
+          return false;
+        }
+        return true;
+      case COMMENT:
+        if (ch == '-') {
+          commentDashes = commentDashes + 1;
+        } else if (ch == '>' && commentDashes >= 2) {
+          state = State.DATA;
+        } else {
+          commentDashes = 0;
+        }
+        return true;
+      case BOGUS_COMMENT:
+        if (ch == '>')
+          state = State.DATA;
+        return true;
+      case RAW_TEXT:
+        if (ch == '<')
+          state = State.RAW_TEXT_LESS_THAN_SIGN;
+        return true;
+      case RAW_TEXT_LESS_THAN_SIGN:
+        if (ch == '/') {
+          rawTextTagNameIndex = 0;
+          state = State.RAW_TEXT_END_TAG_NAME;
+          return true;
+        } else {
+          state = State.RAW_TEXT;
+          return false;
+        }
+      case RAW_TEXT_END_TAG_NAME:
+        if (rawTextTagNameIndex < rawTextTagName.length()) {
+          if (toAsciiLowerCase(ch) == rawTextTagName.charAt(rawTextTagNameIndex)) {
+            rawTextTagNameIndex = rawTextTagNameIndex + 1;
+            return true;
+          }
+        } else if (isWhitespace(ch) || ch == '/' || ch == '>') {
+          tagName.setLength(0);
+          tagName.append(rawTextTagName);
+          tagNameTruncated = false;
+          endTag = true;
+          metaTag = false;
+          state = State.BEFORE_ATTRIBUTE_NAME;
+          return false;
+        }
+        state = State.RAW_TEXT;
+        return false;
+      default:
+        throw new AssertionError(state);
+    }
+  }
+
+  private void startTag(boolean endTag) {
+    this.tagName.setLength(0);
+    this.tagNameTruncated = false;
+    this.endTag = endTag;
+    this.metaTag = false;
+    this.hasProperty = false;
+    this.hasContent = false;
+    this.state = State.TAG_NAME;
+  }
+
+  private void appendAttributeName(char ch) {
+    if (metaTag)
+      attributeName.append(toAsciiLowerCase(ch));
+  }
+
+  private void appendAttributeValue(char ch) {
+    if (metaTag)
+      attributeValue.append(ch);
+  }
+
+  /**
+   * Completes the current attribute. Like jsoup, we keep the first value of duplicate attributes.
+   */
+  private void attribute() {
+    if (!metaTag)
+      return;
+    if (!hasProperty && contentEquals(attributeName, "property")) {
+      attributeValue(property);
+      hasProperty = true;
+    } else if (!hasContent && contentEquals(attributeName, "content")) {
+      attributeValue(content);
+      hasContent = true;
+    }
+    attributeName.setLength(0);
+    attributeValue.setLength(0);
+  }
+
+  /**
+   * Copies the current attribute value into the given buffer, decoding any entities.
+   */
+  private void attributeValue(StringBuilder target) {
+    target.setLength(0);
+    if (attributeValue.indexOf("&") != -1) {
+      target.append(Parser.unescapeEntities(attributeValue.toString(), true));
+    } else {
+      target.append(attributeValue);
+    }
+  }
+
+  private void emitTag() {
+    state = State.DATA;
+
+    if (tagNameTruncated) {
+      // This is not one of the tags we care about, so it's not a head tag.
+      if (!endTag && templateDepth == 0)
+        done = true;
+      return;
+    }
+
+    if (endTag) {
+      endTag();
+    } else {
+      startTag();
+    }
+  }
+
+  private void startTag() {
+    if (contentEquals(tagName, "title")) {
+      rawText("title");
+    } else if (contentEquals(tagName, "script")) {
+      rawText("script");
+    } else if (contentEquals(tagName, "style")) {
+      rawText("style");
+    } else if (contentEquals(tagName, "noframes")) {
+      rawText("noframes");
+    }
+
+    if (templateDepth != 0) {
+      if (contentEquals(tagName, "template")) {
+        templateDepth = templateDepth + 1;
+      } else if (contentEquals(tagName, "textarea")) {
+        rawText("textarea");
+      } else if (contentEquals(tagName, "xmp")) {
+        rawText("xmp");
+      } else if (contentEquals(tagName, "iframe")) {
+        rawText("iframe");
+      } else if (contentEquals(tagName, "noembed")) {
+        rawText("noembed");
+      } else if (contentEquals(tagName, "plaintext")) {
+        done = true;
+      }
+      return;
+    }
+
+    if (metaTag) {
+      if (!inNoscript && hasProperty && hasContent) {
+        handler.meta(property, content);
+        if (handler.isDone())
+          done = true;
+      }
+    } else if (contentEquals(tagName, "link") || contentEquals(tagName, "basefont")
+        || contentEquals(tagName, "bgsound") || contentEquals(tagName, "style")
+        || contentEquals(tagName, "noframes") || contentEquals(tagName, "html")
+        || contentEquals(tagName, "head")) {
+      // These are fine anywhere in the head, even inside noscript.
+    } else if (contentEquals(tagName, "noscript")) {
+      inNoscript = true;
+    } else if (contentEquals(tagName, "title") || contentEquals(tagName, "script")
+        || contentEquals(tagName, "base")) {
+      // These are fine in the head, but not inside noscript, so they close it.
+      inNoscript = false;
+    } else if (contentEquals(tagName, "template")) {
+      inNoscript = false;
+      templateDepth = 1;
+    } else {
+      // Everything else, including body, closes the head.
+      done = true;
+    }
+  }
+
+  private void endTag() {
+    if (templateDepth != 0) {
+      if (contentEquals(tagName, "template"))
+        templateDepth = templateDepth - 1;
+    } else if (contentEquals(tagName, "noscript")) {
+      inNoscript = false;
+    } else if (contentEquals(tagName, "body") || contentEquals(tagName, "html")
+        || contentEquals(tagName, "br")) {
+      done = true;
+    } else {
+      // The tree builder ignores all other end tags here, including </head>, since any meta tags
+      // that appear after it but before the body are still added to the head.
+    }
+  }
+
+  private void rawText(String name) {
+    rawTextTagName = name;
+    state = State.RAW_TEXT;
+  }
+
+  private static boolean isWhitespace(char ch) {
+    return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f';
+  }
+
+  private static boolean isAsciiAlpha(char ch) {
+    return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+  }
+
+  private static char toAsciiLowerCase(char ch) {
+    return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+  }
+
+  private static boolean contentEquals(StringBuilder sb, String s) {
+    final int len = s.length();
+    if (sb.length() != len)
+      return false;
+    for (int i = 0; i < len; i++)
+      if (sb.charAt(i) != s.charAt(i))
+        return false;
+    return true;
+  }
+}
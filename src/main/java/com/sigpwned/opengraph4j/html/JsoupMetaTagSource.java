@@ -0,0 +1,87 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+/**
+ * A {@link MetaTagSource} that reports the {@code <meta property content>} children of a parsed
+ * jsoup document's head.
+ */
+public class JsoupMetaTagSource implements MetaTagSource {
+  private final Document document;
+
+  public JsoupMetaTagSource(Document document) {
+    if (document == null)
+      throw new NullPointerException();
+    this.document = document;
+  }
+
+  /**
+   * @return the document
+   */
+  public Document getDocument() {
+    return document;
+  }
+
+  @Override
+  public void emit(MetaTagHandler handler) {
+    // Walking the head's children directly is equivalent to the selector
+    // "head > meta[property][content]", but much cheaper, and doesn't allocate. Unlike
+    // Document#head(), this never adds missing html or head elements to the caller's document.
+    Element html = firstChild(document, "html");
+    if (html == null)
+      return;
+
+    Element head = firstChild(html, "head");
+    if (head == null)
+      return;
+
+    for (int i = 0, n = head.childNodeSize(); i < n; i++) {
+      Node node = head.childNode(i);
+      if (!(node instanceof Element))
+        continue;
+
+      Element element = (Element) node;
+      if (!element.normalName().equals("meta") || !element.hasAttr("property")
+          || !element.hasAttr("content"))
+        continue;
+
+      handler.meta(element.attr("property"), element.attr("content"));
+      if (handler.isDone())
+        break;
+    }
+  }
+
+  /**
+   * @return the first child element of the given parent with the given normalized name, or null
+   *         if there is none
+   */
+  private static Element firstChild(Element parent, String normalName) {
+    for (int i = 0, n = parent.childNodeSize(); i < n; i++) {
+      Node node = parent.childNode(i);
+      if (node instanceof Element && ((Element) node).normalName().equals(normalName))
+        return (Element) node;
+    }
+    return null;
+  }
+}
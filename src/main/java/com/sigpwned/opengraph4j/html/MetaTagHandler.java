@@ -0,0 +1,45 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+/**
+ * Receives the {@code <meta property content>} tags found in the head of an HTML document, in
+ * document order.
+ *
+ * @see MetaTagSource
+ */
+@FunctionalInterface
+public interface MetaTagHandler {
+  /**
+   * Handles one meta tag. The arguments are only valid for the duration of the call, since a
+   * source may reuse its buffers for the next tag, so implementations that keep either value must
+   * copy it, e.g., with {@link CharSequence#toString()}. Entities have already been decoded.
+   */
+  public void meta(CharSequence property, CharSequence content);
+
+  /**
+   * Sources check this after each tag, and stop early if it returns true.
+   *
+   * @return true if this handler wants no more tags, or false otherwise
+   */
+  public default boolean isDone() {
+    return false;
+  }
+}
@@ -0,0 +1,58 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A front-end that finds the {@code <meta property content>} tags in the head of an HTML document
+ * and reports them to a {@link MetaTagHandler}. This decouples extraction from any one HTML
+ * parser: {@link JsoupMetaTagSource} walks a parsed jsoup document, while the sources returned by
+ * {@link #of(Reader)} and {@link #of(CharSequence)} tokenize raw HTML with
+ * {@link HeadMetaTokenizer} and never build a DOM.
+ */
+@FunctionalInterface
+public interface MetaTagSource {
+  /**
+   * Returns a source that tokenizes the given document, reading only as much of it as is required
+   * to find the end of the head.
+   */
+  public static MetaTagSource of(Reader html) {
+    if (html == null)
+      throw new NullPointerException();
+    return handler -> HeadMetaTokenizer.tokenize(html, handler);
+  }
+
+  /**
+   * Returns a source that tokenizes the given document, examining only as much of it as is
+   * required to find the end of the head.
+   */
+  public static MetaTagSource of(CharSequence html) {
+    if (html == null)
+      throw new NullPointerException();
+    return handler -> HeadMetaTokenizer.tokenize(html, handler);
+  }
+
+  /**
+   * Reports each meta tag in the head of the document to the given handler, in document order.
+   */
+  public void emit(MetaTagHandler handler) throws IOException;
+}
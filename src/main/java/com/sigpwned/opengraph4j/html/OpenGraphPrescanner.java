@@ -0,0 +1,144 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+/**
+ * Decides cheaply whether an HTML document could possibly contain an {@code og:type} meta tag.
+ * Extraction produces no result without one, so documents that fail this test need not be parsed
+ * at all.
+ *
+ * <p>
+ * The test is conservative. It never rejects a document that has an {@code og:type} tag, but it
+ * may accept a document that doesn't, e.g., because the text "og:type" appears in a script. It
+ * looks for the property name in any letter case. Any character of the name may be written as a
+ * character reference, e.g. {@code og&#58;type} or {@code &#111;g:type}, so the test also accepts
+ * any document where a character reference falls inside a partial match of the name.
+ */
+public final class OpenGraphPrescanner {
+  private OpenGraphPrescanner() {}
+
+  /**
+   * The longest run of reference characters to scan back over when looking for the start of a
+   * character reference, e.g. {@code &#x0000000074;}.
+   */
+  private static final int MAX_REFERENCE_LENGTH = 32;
+
+  /**
+   * @return false if the given document definitely has no {@code og:type} tag, or true otherwise
+   */
+  public static boolean mayHaveType(CharSequence html) {
+    if (html instanceof String)
+      return mayHaveType((String) html);
+
+    for (int i = 0, n = html.length(); i < n; i++) {
+      char ch = html.charAt(i);
+      if (ch == ':' && mayHaveOg(html, i) && mayHaveType(html, i + 1))
+        return true;
+      if (ch == '&' && mayHaveOg(html, i))
+        return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Strings get a faster version of the same scan, since {@link String#indexOf(int, int)} is
+   * heavily optimized by the JVM.
+   */
+  private static boolean mayHaveType(String html) {
+    for (int i = html.indexOf(':'); i != -1; i = html.indexOf(':', i + 1))
+      if (mayHaveOg(html, i) && mayHaveType(html, i + 1))
+        return true;
+
+    // The colon itself may be a character reference, so treat every reference as a candidate
+    for (int i = html.indexOf('&'); i != -1; i = html.indexOf('&', i + 1))
+      if (mayHaveOg(html, i))
+        return true;
+
+    return false;
+  }
+
+  /**
+   * @return true if the text just before the given index could be "og", allowing for character
+   *         references
+   */
+  private static boolean mayHaveOg(CharSequence html, int end) {
+    int index = end - 1;
+    if (index >= 0 && isEither(html.charAt(index), 'g', 'G'))
+      index = index - 1;
+    else
+      return endsReference(html, index);
+
+    if (index >= 0 && isEither(html.charAt(index), 'o', 'O'))
+      return true;
+    else
+      return endsReference(html, index);
+  }
+
+  /**
+   * @return true if the text starting at the given index could be "type", allowing for character
+   *         references
+   */
+  private static boolean mayHaveType(CharSequence html, int start) {
+    final String lower = "type";
+    final String upper = "TYPE";
+    for (int i = 0; i < lower.length(); i++) {
+      int index = start + i;
+      if (index >= html.length())
+        return false;
+      char ch = html.charAt(index);
+      if (ch == '&')
+        return true;
+      if (!isEither(ch, lower.charAt(i), upper.charAt(i)))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the character at the given index could be the last character of a character
+   *         reference, e.g., the semicolon of {@code &#103;} or the final digit of {@code &#103}
+   */
+  private static boolean endsReference(CharSequence html, int index) {
+    int last = index;
+    if (last >= 0 && html.charAt(last) == ';')
+      last = last - 1;
+
+    int limit = Math.max(last - MAX_REFERENCE_LENGTH, -1);
+    for (int i = last; i > limit; i--) {
+      char ch = html.charAt(i);
+      if (ch == '&')
+        return i != last;
+      if (!isReferenceCharacter(ch))
+        return false;
+    }
+
+    return false;
+  }
+
+  private static boolean isReferenceCharacter(char ch) {
+    return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+        || ch == '#';
+  }
+
+  private static boolean isEither(char ch, char lower, char upper) {
+    return ch == lower || ch == upper;
+  }
+}
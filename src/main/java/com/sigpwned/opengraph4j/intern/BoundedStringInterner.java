@@ -0,0 +1,102 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.intern;
+
+/**
+ * A fixed-size, lossy {@link StringInterner}. Each string maps to one slot in a table, and a new
+ * string simply replaces whatever was in its slot before. Frequent values therefore tend to stay
+ * in the table, while rare values churn through it, all without locking or unbounded growth.
+ * Strings longer than a maximum length are never interned, since long values are rarely repeated.
+ *
+ * <p>
+ * This object is thread-safe. Threads may race to fill the same slot, but strings are immutable,
+ * so the worst outcome of a race is a missed opportunity to share an instance.
+ */
+public class BoundedStringInterner implements StringInterner {
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  public static final int DEFAULT_MAXIMUM_LENGTH = 64;
+
+  private static class SharedHolder {
+    public static final BoundedStringInterner INSTANCE =
+        new BoundedStringInterner(DEFAULT_CAPACITY, DEFAULT_MAXIMUM_LENGTH);
+  }
+
+  /**
+   * @return an interner with the default settings that is shared across the JVM
+   */
+  public static BoundedStringInterner shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  private final String[] table;
+  private final int maximumLength;
+
+  public BoundedStringInterner() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAXIMUM_LENGTH);
+  }
+
+  /**
+   * @param capacity the number of slots in the table, which is rounded up to a power of two
+   * @param maximumLength the longest string to intern
+   */
+  public BoundedStringInterner(int capacity, int maximumLength) {
+    if (capacity < 1 || capacity > (1 << 30))
+      throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+    if (maximumLength < 0)
+      throw new IllegalArgumentException("maximumLength must not be negative");
+    int size = 1;
+    while (size < capacity)
+      size = size << 1;
+    this.table = new String[size];
+    this.maximumLength = maximumLength;
+  }
+
+  @Override
+  public String intern(CharSequence value) {
+    int length = value.length();
+    if (length > maximumLength)
+      return value.toString();
+
+    int hash = hash(value);
+    int index = (hash ^ (hash >>> 16)) & (table.length - 1);
+
+    String existing = table[index];
+    if (existing != null && existing.length() == length && existing.contentEquals(value))
+      return existing;
+
+    String result = value.toString();
+    table[index] = result;
+
+    return result;
+  }
+
+  /**
+   * @return the same hash as {@link String#hashCode()}, without converting to a string
+   */
+  private static int hash(CharSequence value) {
+    if (value instanceof String)
+      return value.hashCode();
+    int result = 0;
+    for (int i = 0, n = value.length(); i < n; i++)
+      result = 31 * result + value.charAt(i);
+    return result;
+  }
+}
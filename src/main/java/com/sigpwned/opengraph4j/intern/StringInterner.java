@@ -0,0 +1,40 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.intern;
+
+/**
+ * Maps equal strings to one canonical instance, so that repeated values like site names, locales
+ * and MIME types share storage across extracted records. Implementations must be thread-safe.
+ *
+ * @see BoundedStringInterner
+ */
+@FunctionalInterface
+public interface StringInterner {
+  /**
+   * An interner that doesn't intern at all, and simply copies its input into a new string.
+   */
+  public static final StringInterner NONE = CharSequence::toString;
+
+  /**
+   * Returns a string with the same contents as the given value. Implementations may return a
+   * previously-returned instance, or a new one.
+   */
+  public String intern(CharSequence value);
+}
@@ -0,0 +1,43 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.json;
+
+import java.io.IOException;
+
+/**
+ * Thrown when JSON input is malformed, or does not describe a valid OpenGraph model object.
+ */
+public class OpenGraphJsonException extends IOException {
+  private static final long serialVersionUID = 4106337326372846418L;
+
+  private final long offset;
+
+  public OpenGraphJsonException(long offset, String message) {
+    super(message + " at offset " + offset);
+    this.offset = offset;
+  }
+
+  /**
+   * @return the offset of the character in the input where the problem was detected
+   */
+  public long getOffset() {
+    return offset;
+  }
+}
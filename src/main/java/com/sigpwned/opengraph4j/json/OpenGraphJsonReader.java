@@ -0,0 +1,556 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import com.sigpwned.opengraph4j.model.OpenGraphAudio;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+
+/**
+ * Reads OpenGraph model objects from JSON written by {@link OpenGraphJsonWriter}, without
+ * reflection or an intermediate tree. Unknown fields are skipped, and {@code null} values are
+ * treated the same as missing ones. The reader can read several values from one input, e.g., one
+ * object per line, using {@link #hasNext()}.
+ *
+ * <p>
+ * This object is not thread-safe.
+ */
+public class OpenGraphJsonReader {
+  /**
+   * @return the metadata described by the given JSON object
+   * @throws OpenGraphJsonException if the JSON is malformed
+   */
+  public static OpenGraphMetadata fromJson(String json) throws OpenGraphJsonException {
+    OpenGraphJsonReader reader = new OpenGraphJsonReader(new StringReader(json));
+    try {
+      OpenGraphMetadata result = reader.readMetadata();
+      if (reader.hasNext())
+        throw new OpenGraphJsonException(reader.offset, "Unexpected trailing content");
+      return result;
+    } catch (OpenGraphJsonException e) {
+      throw e;
+    } catch (IOException e) {
+      // This should never happen, since StringReader doesn't throw
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final String[] METADATA_FIELDS = {"type", "title", "url", "description",
+      "determiner", "locale", "alternateLocales", "siteName", "images", "videos", "audios",
+      "articlePublishedTime", "articleModifiedTime", "articleExpirationTime", "articleAuthors",
+      "articleSection", "articleTags", "bookAuthors", "bookIsbn", "bookReleaseDate", "bookTags",
+      "profileFirstName", "profileLastName", "profileUsername", "profileGender"};
+
+  private static final String[] MEDIA_FIELDS =
+      {"url", "secureUrl", "type", "width", "height", "alt"};
+
+  private final Reader in;
+  private final char[] buf;
+  private int position;
+  private int limit;
+
+  /**
+   * The offset in the input of buf[0]
+   */
+  private long offset;
+
+  /**
+   * Scratch space for strings
+   */
+  private final StringBuilder scratch;
+
+  public OpenGraphJsonReader(Reader in) {
+    if (in == null)
+      throw new NullPointerException();
+    this.in = in;
+    this.buf = new char[8192];
+    this.scratch = new StringBuilder();
+  }
+
+  /**
+   * @return true if there is another value in the input, or false if only whitespace remains
+   */
+  public boolean hasNext() throws IOException {
+    return skipWhitespace() != -1;
+  }
+
+  public OpenGraphMetadata readMetadata() throws IOException {
+    OpenGraphMetadata.Builder builder = OpenGraphMetadata.builder();
+    expect('{');
+    if (!endObject()) {
+      do {
+        String name = name(METADATA_FIELDS);
+        if (nullValue())
+          continue;
+        if (name == null) {
+          skipValue();
+          continue;
+        }
+        switch (name) {
+          case "type":
+            builder.setType(readString());
+            break;
+          case "title":
+            builder.setTitle(readString());
+            break;
+          case "url":
+            builder.setUrl(readString());
+            break;
+          case "description":
+            builder.setDescription(readString());
+            break;
+          case "determiner":
+            builder.setDeterminer(readString());
+            break;
+          case "locale":
+            builder.setLocale(readString());
+            break;
+          case "alternateLocales":
+            readStrings(builder.getAlternateLocales());
+            break;
+          case "siteName":
+            builder.setSiteName(readString());
+            break;
+          case "images":
+            expect('[');
+            if (!endArray()) {
+              do {
+                builder.getImages().add(readImage());
+              } while (nextElement());
+            }
+            break;
+          case "videos":
+            expect('[');
+            if (!endArray()) {
+              do {
+                builder.getVideos().add(readVideo());
+              } while (nextElement());
+            }
+            break;
+          case "audios":
+            expect('[');
+            if (!endArray()) {
+              do {
+                builder.getAudios().add(readAudio());
+              } while (nextElement());
+            }
+            break;
+          case "articlePublishedTime":
+            builder.setArticlePublishedTime(readDateTime());
+            break;
+          case "articleModifiedTime":
+            builder.setArticleModifiedTime(readDateTime());
+            break;
+          case "articleExpirationTime":
+            builder.setArticleExpirationTime(readDateTime());
+            break;
+          case "articleAuthors":
+            readStrings(builder.getArticleAuthors());
+            break;
+          case "articleSection":
+            builder.setArticleSection(readString());
+            break;
+          case "articleTags":
+            readStrings(builder.getArticleTags());
+            break;
+          case "bookAuthors":
+            readStrings(builder.getBookAuthors());
+            break;
+          case "bookIsbn":
+            builder.setBookIsbn(readString());
+            break;
+          case "bookReleaseDate":
+            builder.setBookReleaseDate(readDateTime());
+            break;
+          case "bookTags":
+            readStrings(builder.getBookTags());
+            break;
+          case "profileFirstName":
+            builder.setProfileFirstName(readString());
+            break;
+          case "profileLastName":
+            builder.setProfileLastName(readString());
+            break;
+          case "profileUsername":
+            builder.setProfileUsername(readString());
+            break;
+          case "profileGender":
+            builder.setProfileGender(readString());
+            break;
+          default:
+            throw new AssertionError(name);
+        }
+      } while (nextMember());
+    }
+    return builder.build();
+  }
+
+  public OpenGraphImage readImage() throws IOException {
+    Media media = readMedia("image");
+    OpenGraphImage.Builder builder = OpenGraphImage.builder(media.url)
+        .withSecureUrl(media.secureUrl).withType(media.type).withAlt(media.alt);
+    if (media.width != Media.ABSENT)
+      builder.setWidth(media.width);
+    if (media.height != Media.ABSENT)
+      builder.setHeight(media.height);
+    return builder.build();
+  }
+
+  public OpenGraphVideo readVideo() throws IOException {
+    Media media = readMedia("video");
+    OpenGraphVideo.Builder builder = OpenGraphVideo.builder(media.url)
+        .withSecureUrl(media.secureUrl).withType(media.type).withAlt(media.alt);
+    if (media.width != Media.ABSENT)
+      builder.setWidth(media.width);
+    if (media.height != Media.ABSENT)
+      builder.setHeight(media.height);
+    return builder.build();
+  }
+
+  public OpenGraphAudio readAudio() throws IOException {
+    Media media = readMedia("audio");
+    return OpenGraphAudio.builder(media.url).withSecureUrl(media.secureUrl).withType(media.type)
+        .build();
+  }
+
+  /**
+   * The fields of an image, video, or audio object. Audio objects simply ignore the fields they
+   * don't have.
+   */
+  private static class Media {
+    public static final int ABSENT = -1;
+
+    public String url;
+    public String secureUrl;
+    public String type;
+    public int width = ABSENT;
+    public int height = ABSENT;
+    public String alt;
+  }
+
+  private Media readMedia(String kind) throws IOException {
+    Media result = new Media();
+    expect('{');
+    if (!endObject()) {
+      do {
+        String name = name(MEDIA_FIELDS);
+        if (nullValue())
+          continue;
+        if (name == null) {
+          skipValue();
+          continue;
+        }
+        switch (name) {
+          case "url":
+            result.url = readString();
+            break;
+          case "secureUrl":
+            result.secureUrl = readString();
+            break;
+          case "type":
+            result.type = readString();
+            break;
+          case "width":
+            result.width = readDimension();
+            break;
+          case "height":
+            result.height = readDimension();
+            break;
+          case "alt":
+            result.alt = readString();
+            break;
+          default:
+            throw new AssertionError(name);
+        }
+      } while (nextMember());
+    }
+    if (result.url == null)
+      throw new OpenGraphJsonException(offset + position, "No url for " + kind);
+    return result;
+  }
+
+  /**
+   * Reads the name of the next object member and its colon.
+   *
+   * @return the matching name from the given list, or null if the name is not in the list
+   */
+  private String name(String[] names) throws IOException {
+    readStringToScratch();
+    expect(':');
+    for (String name : names)
+      if (name.length() == scratch.length() && name.contentEquals(scratch))
+        return name;
+    return null;
+  }
+
+  private String readString() throws IOException {
+    readStringToScratch();
+    return scratch.toString();
+  }
+
+  private void readStrings(List<String> result) throws IOException {
+    expect('[');
+    if (!endArray()) {
+      do {
+        result.add(nullValue() ? null : readString());
+      } while (nextElement());
+    }
+  }
+
+  private OffsetDateTime readDateTime() throws IOException {
+    long start = offset + position;
+    readStringToScratch();
+    try {
+      return OffsetDateTime.parse(scratch);
+    } catch (DateTimeParseException e) {
+      throw new OpenGraphJsonException(start, "Invalid date " + scratch);
+    }
+  }
+
+  /**
+   * Reads a non-negative integer that fits in an int.
+   */
+  private int readDimension() throws IOException {
+    long start = offset + position;
+    int ch = skipWhitespace();
+    if (ch < '0' || ch > '9')
+      throw new OpenGraphJsonException(start, "Expected non-negative integer");
+    long result = 0;
+    while (ch >= '0' && ch <= '9') {
+      result = result * 10 + (ch - '0');
+      if (result > Integer.MAX_VALUE)
+        throw new OpenGraphJsonException(start, "Integer overflow");
+      position = position + 1;
+      ch = peek();
+    }
+    if (ch == '.' || ch == 'e' || ch == 'E')
+      throw new OpenGraphJsonException(start, "Expected integer");
+    return (int) result;
+  }
+
+  /**
+   * Reads a JSON string into {@link #scratch}, decoding any escapes.
+   */
+  private void readStringToScratch() throws IOException {
+    expect('"');
+    scratch.setLength(0);
+    while (true) {
+      // Copy runs of plain characters in bulk
+      int start = position;
+      while (position < limit) {
+        char ch = buf[position];
+        if (ch == '"' || ch == '\\' || ch < 0x20)
+          break;
+        position = position + 1;
+      }
+      scratch.append(buf, start, position - start);
+
+      int ch = peek();
+      if (ch == -1)
+        throw new OpenGraphJsonException(offset + position, "Unterminated string");
+      if (ch == '"') {
+        position = position + 1;
+        return;
+      }
+      if (ch < 0x20)
+        throw new OpenGraphJsonException(offset + position, "Unescaped control character");
+      if (ch == '\\') {
+        position = position + 1;
+        int escape = read();
+        switch (escape) {
+          case '"':
+          case '\\':
+          case '/':
+            scratch.append((char) escape);
+            break;
+          case 'b':
+            scratch.append('\b');
+            break;
+          case 'f':
+            scratch.append('\f');
+            break;
+          case 'n':
+            scratch.append('\n');
+            break;
+          case 'r':
+            scratch.append('\r');
+            break;
+          case 't':
+            scratch.append('\t');
+            break;
+          case 'u':
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+              int digit = Character.digit(read(), 16);
+              if (digit == -1)
+                throw new OpenGraphJsonException(offset + position, "Invalid unicode escape");
+              value = value * 16 + digit;
+            }
+            scratch.append((char) value);
+            break;
+          default:
+            throw new OpenGraphJsonException(offset + position, "Invalid escape");
+        }
+      }
+    }
+  }
+
+  /**
+   * Skips the next value, whatever it is.
+   */
+  private void skipValue() throws IOException {
+    int ch = skipWhitespace();
+    if (ch == '"') {
+      readStringToScratch();
+    } else if (ch == '{') {
+      position = position + 1;
+      if (!endObject()) {
+        do {
+          readStringToScratch();
+          expect(':');
+          skipValue();
+        } while (nextMember());
+      }
+    } else if (ch == '[') {
+      position = position + 1;
+      if (!endArray()) {
+        do {
+          skipValue();
+        } while (nextElement());
+      }
+    } else if (ch == '-' || (ch >= '0' && ch <= '9') || ch == 't' || ch == 'f' || ch == 'n') {
+      // Numbers and literals. We're lenient here, since we're throwing the value away anyway.
+      while ((ch = peek()) != -1 && (ch == '-' || ch == '+' || ch == '.'
+          || (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')))
+        position = position + 1;
+    } else {
+      throw new OpenGraphJsonException(offset + position, "Expected value");
+    }
+  }
+
+  /**
+   * Consumes a {@code null} literal, if one is next.
+   */
+  private boolean nullValue() throws IOException {
+    if (skipWhitespace() != 'n')
+      return false;
+    for (int i = 0; i < 4; i++)
+      if (read() != "null".charAt(i))
+        throw new OpenGraphJsonException(offset + position, "Expected null");
+    return true;
+  }
+
+  /**
+   * Consumes the closing brace of an empty object, if one is next.
+   */
+  private boolean endObject() throws IOException {
+    if (skipWhitespace() != '}')
+      return false;
+    position = position + 1;
+    return true;
+  }
+
+  /**
+   * Consumes the closing bracket of an empty array, if one is next.
+   */
+  private boolean endArray() throws IOException {
+    if (skipWhitespace() != ']')
+      return false;
+    position = position + 1;
+    return true;
+  }
+
+  /**
+   * @return true if another member follows, or false if the object ended
+   */
+  private boolean nextMember() throws IOException {
+    int ch = skipWhitespace();
+    position = position + 1;
+    if (ch == ',')
+      return true;
+    if (ch == '}')
+      return false;
+    throw new OpenGraphJsonException(offset + position - 1, "Expected , or }");
+  }
+
+  /**
+   * @return true if another element follows, or false if the array ended
+   */
+  private boolean nextElement() throws IOException {
+    int ch = skipWhitespace();
+    position = position + 1;
+    if (ch == ',')
+      return true;
+    if (ch == ']')
+      return false;
+    throw new OpenGraphJsonException(offset + position - 1, "Expected , or ]");
+  }
+
+  private void expect(char expected) throws IOException {
+    int ch = skipWhitespace();
+    if (ch != expected)
+      throw new OpenGraphJsonException(offset + position, "Expected " + expected);
+    position = position + 1;
+  }
+
+  /**
+   * @return the next non-whitespace character without consuming it, or -1 at the end of input
+   */
+  private int skipWhitespace() throws IOException {
+    while (true) {
+      int ch = peek();
+      if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r')
+        return ch;
+      position = position + 1;
+    }
+  }
+
+  private int read() throws IOException {
+    int result = peek();
+    if (result == -1)
+      throw new OpenGraphJsonException(offset + position, "Unexpected end of input");
+    position = position + 1;
+    return result;
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      offset = offset + limit;
+      position = 0;
+      limit = 0;
+      int count;
+      do {
+        count = in.read(buf, 0, buf.length);
+      } while (count == 0);
+      if (count == -1)
+        return -1;
+      limit = count;
+    }
+    return buf[position];
+  }
+}
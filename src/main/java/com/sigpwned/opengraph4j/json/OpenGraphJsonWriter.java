@@ -0,0 +1,369 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import com.sigpwned.opengraph4j.model.OpenGraphAudio;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.model.OpenGraphVideo;
+
+/**
+ * Writes OpenGraph model objects as JSON straight to an {@link Appendable}, without reflection or
+ * an intermediate tree. Field names match the model's getters, e.g., {@code siteName}. Absent
+ * values and empty lists are omitted. Dates are written in ISO 8601 format, e.g.,
+ * {@code 2022-01-01T12:00:00Z}.
+ *
+ * <p>
+ * This object is not thread-safe.
+ *
+ * @see OpenGraphJsonReader
+ */
+public class OpenGraphJsonWriter {
+  /**
+   * @return the given metadata as a JSON string
+   */
+  public static String toJson(OpenGraphMetadata metadata) {
+    StringBuilder result = new StringBuilder(512);
+    try {
+      new OpenGraphJsonWriter(result).writeMetadata(metadata);
+    } catch (IOException e) {
+      // This should never happen, since StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Writes the given metadata to the given stream as UTF-8 JSON. The stream is flushed, but not
+   * closed.
+   */
+  public static void write(OpenGraphMetadata metadata, OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    new OpenGraphJsonWriter(writer).writeMetadata(metadata);
+    writer.flush();
+  }
+
+  private final Appendable out;
+
+  /**
+   * Scratch space for formatting numbers
+   */
+  private final char[] digits;
+
+  /**
+   * True if the object we're currently writing has no fields yet
+   */
+  private boolean first;
+
+  public OpenGraphJsonWriter(Appendable out) {
+    if (out == null)
+      throw new NullPointerException();
+    this.out = out;
+    this.digits = new char[10];
+  }
+
+  public void writeMetadata(OpenGraphMetadata metadata) throws IOException {
+    beginObject();
+    stringField("type", metadata.getType());
+    stringField("title", metadata.getTitle());
+    stringField("url", metadata.getUrl());
+    stringField("description", metadata.getDescription());
+    stringField("determiner", metadata.getDeterminer());
+    stringField("locale", metadata.getLocale());
+    stringsField("alternateLocales", metadata.getAlternateLocales());
+    stringField("siteName", metadata.getSiteName());
+
+    List<OpenGraphImage> images = metadata.getImages();
+    if (!images.isEmpty()) {
+      name("images");
+      out.append('[');
+      for (int i = 0; i < images.size(); i++) {
+        if (i != 0)
+          out.append(',');
+        writeImage(images.get(i));
+      }
+      out.append(']');
+    }
+
+    List<OpenGraphVideo> videos = metadata.getVideos();
+    if (!videos.isEmpty()) {
+      name("videos");
+      out.append('[');
+      for (int i = 0; i < videos.size(); i++) {
+        if (i != 0)
+          out.append(',');
+        writeVideo(videos.get(i));
+      }
+      out.append(']');
+    }
+
+    List<OpenGraphAudio> audios = metadata.getAudios();
+    if (!audios.isEmpty()) {
+      name("audios");
+      out.append('[');
+      for (int i = 0; i < audios.size(); i++) {
+        if (i != 0)
+          out.append(',');
+        writeAudio(audios.get(i));
+      }
+      out.append(']');
+    }
+
+    dateTimeField("articlePublishedTime", metadata.getArticlePublishedTime());
+    dateTimeField("articleModifiedTime", metadata.getArticleModifiedTime());
+    dateTimeField("articleExpirationTime", metadata.getArticleExpirationTime());
+    stringsField("articleAuthors", metadata.getArticleAuthors());
+    stringField("articleSection", metadata.getArticleSection());
+    stringsField("articleTags", metadata.getArticleTags());
+    stringsField("bookAuthors", metadata.getBookAuthors());
+    stringField("bookIsbn", metadata.getBookIsbn());
+    dateTimeField("bookReleaseDate", metadata.getBookReleaseDate());
+    stringsField("bookTags", metadata.getBookTags());
+    stringField("profileFirstName", metadata.getProfileFirstName());
+    stringField("profileLastName", metadata.getProfileLastName());
+    stringField("profileUsername", metadata.getProfileUsername());
+    stringField("profileGender", metadata.getProfileGender());
+    endObject();
+  }
+
+  public void writeImage(OpenGraphImage image) throws IOException {
+    beginObject();
+    stringField("url", image.getUrl());
+    stringField("secureUrl", image.getSecureUrl().orElse(null));
+    stringField("type", image.getType().orElse(null));
+    if (image.hasWidth())
+      intField("width", image.widthOrDefault(0));
+    if (image.hasHeight())
+      intField("height", image.heightOrDefault(0));
+    stringField("alt", image.getAlt().orElse(null));
+    endObject();
+  }
+
+  public void writeVideo(OpenGraphVideo video) throws IOException {
+    beginObject();
+    stringField("url", video.getUrl());
+    stringField("secureUrl", video.getSecureUrl().orElse(null));
+    stringField("type", video.getType().orElse(null));
+    if (video.hasWidth())
+      intField("width", video.widthOrDefault(0));
+    if (video.hasHeight())
+      intField("height", video.heightOrDefault(0));
+    stringField("alt", video.getAlt().orElse(null));
+    endObject();
+  }
+
+  public void writeAudio(OpenGraphAudio audio) throws IOException {
+    beginObject();
+    stringField("url", audio.getUrl());
+    stringField("secureUrl", audio.getSecureUrl().orElse(null));
+    stringField("type", audio.getType().orElse(null));
+    endObject();
+  }
+
+  private void beginObject() throws IOException {
+    out.append('{');
+    first = true;
+  }
+
+  private void endObject() throws IOException {
+    out.append('}');
+    first = false;
+  }
+
+  /**
+   * Writes the given field name, which must not need escaping, and its colon.
+   */
+  private void name(String name) throws IOException {
+    if (!first)
+      out.append(',');
+    out.append('"').append(name).append("\":");
+    first = false;
+  }
+
+  private void stringField(String name, String value) throws IOException {
+    if (value == null)
+      return;
+    name(name);
+    string(value);
+  }
+
+  private void stringsField(String name, List<String> values) throws IOException {
+    if (values.isEmpty())
+      return;
+    name(name);
+    out.append('[');
+    for (int i = 0; i < values.size(); i++) {
+      if (i != 0)
+        out.append(',');
+      String value = values.get(i);
+      if (value != null)
+        string(value);
+      else
+        out.append("null");
+    }
+    out.append(']');
+  }
+
+  private void intField(String name, int value) throws IOException {
+    name(name);
+    integer(value, 1);
+  }
+
+  private void dateTimeField(String name, OffsetDateTime value) throws IOException {
+    if (value == null)
+      return;
+    name(name);
+    out.append('"');
+    dateTime(value);
+    out.append('"');
+  }
+
+  /**
+   * Writes the given string as a quoted JSON string. Runs of characters that don't need escaping
+   * are appended in one call.
+   */
+  private void string(String value) throws IOException {
+    out.append('"');
+    int start = 0;
+    for (int i = 0, n = value.length(); i < n; i++) {
+      char ch = value.charAt(i);
+      if (ch >= 0x20 && ch != '"' && ch != '\\' && ch != '\u2028' && ch != '\u2029')
+        continue;
+
+      if (start < i)
+        out.append(value, start, i);
+      start = i + 1;
+
+      switch (ch) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        case '\b':
+          out.append("\\b");
+          break;
+        case '\f':
+          out.append("\\f");
+          break;
+        default:
+          // Other control characters, plus the line separators that break JavaScript
+          out.append("\\u");
+          hex(ch >>> 12);
+          hex(ch >>> 8);
+          hex(ch >>> 4);
+          hex(ch);
+          break;
+      }
+    }
+    if (start < value.length())
+      out.append(value, start, value.length());
+    out.append('"');
+  }
+
+  private void hex(int nibble) throws IOException {
+    out.append("0123456789abcdef".charAt(nibble & 0xF));
+  }
+
+  /**
+   * Writes a non-negative integer, zero-padded to at least the given width.
+   */
+  private void integer(int value, int width) throws IOException {
+    int position = digits.length;
+    do {
+      digits[--position] = (char) ('0' + value % 10);
+      value = value / 10;
+    } while (value != 0);
+    while (digits.length - position < width)
+      digits[--position] = '0';
+    for (int i = position; i < digits.length; i++)
+      out.append(digits[i]);
+  }
+
+  /**
+   * Writes the given date in ISO 8601 format, e.g., {@code 2022-01-01T12:00:00.5-05:00}. Seconds
+   * are always written. Fractional seconds are written in groups of three digits, like
+   * {@link OffsetDateTime#toString()}.
+   */
+  private void dateTime(OffsetDateTime value) throws IOException {
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      // Don't bother optimizing dates we'll never see in practice
+      out.append(value.toString());
+      return;
+    }
+
+    integer(year, 4);
+    out.append('-');
+    integer(value.getMonthValue(), 2);
+    out.append('-');
+    integer(value.getDayOfMonth(), 2);
+    out.append('T');
+    integer(value.getHour(), 2);
+    out.append(':');
+    integer(value.getMinute(), 2);
+    out.append(':');
+    integer(value.getSecond(), 2);
+
+    int nano = value.getNano();
+    if (nano != 0) {
+      out.append('.');
+      if (nano % 1000000 == 0)
+        integer(nano / 1000000, 3);
+      else if (nano % 1000 == 0)
+        integer(nano / 1000, 6);
+      else
+        integer(nano, 9);
+    }
+
+    int offset = value.getOffset().getTotalSeconds();
+    if (offset == 0) {
+      out.append('Z');
+    } else {
+      out.append(offset < 0 ? '-' : '+');
+      offset = Math.abs(offset);
+      integer(offset / 3600, 2);
+      out.append(':');
+      integer(offset / 60 % 60, 2);
+      if (offset % 60 != 0) {
+        out.append(':');
+        integer(offset % 60, 2);
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.metrics;
+
+import com.sigpwned.opengraph4j.OpenGraphExtractor;
+
+/**
+ * Receives measurements from an {@link OpenGraphExtractor} as it works. Listeners are called on
+ * the extracting thread, so they must be thread-safe if the extractor is shared, and they should
+ * return quickly.
+ *
+ * @see ExtractionStatistics
+ */
+public interface ExtractionListener {
+  /**
+   * A listener that ignores everything. The extractor doesn't take any measurements at all when
+   * this is its listener.
+   */
+  public static final ExtractionListener NONE = new ExtractionListener() {};
+
+  /**
+   * Called after an HTML document is parsed into a DOM. Extractions that tokenize the document
+   * directly don't parse it, so they don't report this.
+   *
+   * @param nanos the time taken to parse the document, in nanoseconds
+   */
+  public default void parsed(long nanos) {}
+
+  /**
+   * Called after each extraction.
+   */
+  public default void extracted(ExtractionMetrics metrics) {}
+}
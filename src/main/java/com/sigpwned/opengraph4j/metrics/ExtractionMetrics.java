@@ -0,0 +1,124 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.metrics;
+
+import java.util.Objects;
+import com.sigpwned.opengraph4j.annotation.Generated;
+
+/**
+ * The measurements taken during a single extraction.
+ */
+public class ExtractionMetrics {
+  /**
+   * The time taken to extract metadata, in nanoseconds. This does not include the time taken to
+   * parse the document into a DOM, if any, but it does include the time taken to tokenize it.
+   */
+  private final long nanos;
+
+  /**
+   * The number of meta tags with both property and content attributes that were examined.
+   */
+  private final int tagCount;
+
+  /**
+   * The number of meta tags whose property is not an OpenGraph property we understand.
+   */
+  private final int unrecognizedTagCount;
+
+  /**
+   * The number of width and height tags whose values are not valid dimensions.
+   */
+  private final int invalidDimensionCount;
+
+  /**
+   * The number of date tags whose values are not valid dates.
+   */
+  private final int invalidDateCount;
+
+  /**
+   * Whether the document has OpenGraph metadata, i.e., an og:type tag.
+   */
+  private final boolean found;
+
+  public ExtractionMetrics(long nanos, int tagCount, int unrecognizedTagCount,
+      int invalidDimensionCount, int invalidDateCount, boolean found) {
+    this.nanos = nanos;
+    this.tagCount = tagCount;
+    this.unrecognizedTagCount = unrecognizedTagCount;
+    this.invalidDimensionCount = invalidDimensionCount;
+    this.invalidDateCount = invalidDateCount;
+    this.found = found;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  public int getTagCount() {
+    return tagCount;
+  }
+
+  public int getUnrecognizedTagCount() {
+    return unrecognizedTagCount;
+  }
+
+  public int getInvalidDimensionCount() {
+    return invalidDimensionCount;
+  }
+
+  public int getInvalidDateCount() {
+    return invalidDateCount;
+  }
+
+  public boolean isFound() {
+    return found;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public int hashCode() {
+    return Objects.hash(found, invalidDateCount, invalidDimensionCount, nanos, tagCount,
+        unrecognizedTagCount);
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ExtractionMetrics other = (ExtractionMetrics) obj;
+    return found == other.found && invalidDateCount == other.invalidDateCount
+        && invalidDimensionCount == other.invalidDimensionCount && nanos == other.nanos
+        && tagCount == other.tagCount && unrecognizedTagCount == other.unrecognizedTagCount;
+  }
+
+  @Override
+  @Generated("Eclipse")
+  public String toString() {
+    return "ExtractionMetrics [nanos=" + nanos + ", tagCount=" + tagCount
+        + ", unrecognizedTagCount=" + unrecognizedTagCount + ", invalidDimensionCount="
+        + invalidDimensionCount + ", invalidDateCount=" + invalidDateCount + ", found=" + found
+        + "]";
+  }
+}
@@ -0,0 +1,175 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link ExtractionListener} that keeps running totals of everything it hears about. It is
+ * thread-safe and cheap to update under contention, so one instance can be shared by every
+ * extractor in a process. The totals can be read directly, or published over JMX to any metrics
+ * system that scrapes MBeans:
+ *
+ * <pre>
+ * ExtractionStatistics statistics = new ExtractionStatistics();
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(statistics,
+ *     new ObjectName("com.sigpwned.opengraph4j:type=ExtractionStatistics"));
+ * OpenGraphExtractor extractor = OpenGraphExtractor.builder().withListener(statistics).build();
+ * </pre>
+ */
+public class ExtractionStatistics implements ExtractionListener, ExtractionStatisticsMXBean {
+  private final LongAdder parseCount = new LongAdder();
+  private final LongAdder parseNanos = new LongAdder();
+  private final LongAccumulator maxParseNanos = new LongAccumulator(Math::max, 0L);
+  private final LongAdder extractionCount = new LongAdder();
+  private final LongAdder extractionNanos = new LongAdder();
+  private final LongAccumulator maxExtractionNanos = new LongAccumulator(Math::max, 0L);
+  private final LongAdder foundCount = new LongAdder();
+  private final LongAdder tagCount = new LongAdder();
+  private final LongAdder unrecognizedTagCount = new LongAdder();
+  private final LongAdder invalidDimensionCount = new LongAdder();
+  private final LongAdder invalidDateCount = new LongAdder();
+
+  @Override
+  public void parsed(long nanos) {
+    parseCount.increment();
+    parseNanos.add(nanos);
+    maxParseNanos.accumulate(nanos);
+  }
+
+  @Override
+  public void extracted(ExtractionMetrics metrics) {
+    extractionCount.increment();
+    extractionNanos.add(metrics.getNanos());
+    maxExtractionNanos.accumulate(metrics.getNanos());
+    if (metrics.isFound())
+      foundCount.increment();
+    tagCount.add(metrics.getTagCount());
+    unrecognizedTagCount.add(metrics.getUnrecognizedTagCount());
+    invalidDimensionCount.add(metrics.getInvalidDimensionCount());
+    invalidDateCount.add(metrics.getInvalidDateCount());
+  }
+
+  /**
+   * @return the number of documents parsed into a DOM
+   */
+  @Override
+  public long getParseCount() {
+    return parseCount.sum();
+  }
+
+  /**
+   * @return the total time spent parsing documents into a DOM, in nanoseconds
+   */
+  @Override
+  public long getParseNanos() {
+    return parseNanos.sum();
+  }
+
+  /**
+   * @return the longest time spent parsing one document into a DOM, in nanoseconds
+   */
+  @Override
+  public long getMaxParseNanos() {
+    return maxParseNanos.get();
+  }
+
+  /**
+   * @return the number of extractions
+   */
+  @Override
+  public long getExtractionCount() {
+    return extractionCount.sum();
+  }
+
+  /**
+   * @return the total time spent extracting metadata, in nanoseconds
+   */
+  @Override
+  public long getExtractionNanos() {
+    return extractionNanos.sum();
+  }
+
+  /**
+   * @return the longest time spent extracting metadata from one document, in nanoseconds
+   */
+  @Override
+  public long getMaxExtractionNanos() {
+    return maxExtractionNanos.get();
+  }
+
+  /**
+   * @return the number of extractions that found OpenGraph metadata
+   */
+  @Override
+  public long getFoundCount() {
+    return foundCount.sum();
+  }
+
+  /**
+   * @return the total number of meta tags examined
+   */
+  @Override
+  public long getTagCount() {
+    return tagCount.sum();
+  }
+
+  /**
+   * @return the total number of meta tags with unrecognized properties
+   */
+  @Override
+  public long getUnrecognizedTagCount() {
+    return unrecognizedTagCount.sum();
+  }
+
+  /**
+   * @return the total number of invalid width and height values
+   */
+  @Override
+  public long getInvalidDimensionCount() {
+    return invalidDimensionCount.sum();
+  }
+
+  /**
+   * @return the total number of invalid date values
+   */
+  @Override
+  public long getInvalidDateCount() {
+    return invalidDateCount.sum();
+  }
+
+  /**
+   * Resets all totals to zero. Updates that race with this call may or may not be counted.
+   */
+  public void reset() {
+    parseCount.reset();
+    parseNanos.reset();
+    maxParseNanos.reset();
+    extractionCount.reset();
+    extractionNanos.reset();
+    maxExtractionNanos.reset();
+    foundCount.reset();
+    tagCount.reset();
+    unrecognizedTagCount.reset();
+    invalidDimensionCount.reset();
+    invalidDateCount.reset();
+  }
+}
@@ -0,0 +1,48 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.metrics;
+
+/**
+ * The management interface of {@link ExtractionStatistics}, which exposes its running totals as
+ * JMX attributes.
+ */
+public interface ExtractionStatisticsMXBean {
+  public long getParseCount();
+
+  public long getParseNanos();
+
+  public long getMaxParseNanos();
+
+  public long getExtractionCount();
+
+  public long getExtractionNanos();
+
+  public long getMaxExtractionNanos();
+
+  public long getFoundCount();
+
+  public long getTagCount();
+
+  public long getUnrecognizedTagCount();
+
+  public long getInvalidDimensionCount();
+
+  public long getInvalidDateCount();
+}
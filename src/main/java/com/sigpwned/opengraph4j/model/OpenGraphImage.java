@@ -35,6 +35,12 @@ public class OpenGraphImage {
     return new OpenGraphImage(url, secureUrl, type, width, height, alt);
   }
 
+  /**
+   * The value we store for a width or height that was not given. Dimensions are never negative, so
+   * this never collides with a real value.
+   */
+  private static final int ABSENT = -1;
+
   /**
    * Identical to og:image.
    */
@@ -51,14 +57,14 @@ public class OpenGraphImage {
   private final String type;
 
   /**
-   * The number of pixels wide.
+   * The number of pixels wide, or {@link #ABSENT} if not given.
    */
-  private final Integer width;
+  private final int width;
 
   /**
-   * The number of pixels high.
+   * The number of pixels high, or {@link #ABSENT} if not given.
    */
-  private final Integer height;
+  private final int height;
 
   /**
    * A description of what is in the image (not a caption). If the page specifies an og:image it
@@ -68,12 +74,21 @@ public class OpenGraphImage {
 
   @Generated("SparkTools")
   private OpenGraphImage(Builder builder) {
-    this(builder.getUrl(), builder.getSecureUrl(), builder.getType(), builder.getWidth(),
-        builder.getHeight(), builder.getAlt());
+    this(builder.url, builder.secureUrl, builder.type, builder.width, builder.height, builder.alt);
   }
 
   public OpenGraphImage(String url, String secureUrl, String type, Integer width, Integer height,
       String alt) {
+    this(url, secureUrl, type, width != null ? width.intValue() : ABSENT,
+        height != null ? height.intValue() : ABSENT, alt);
+    if (width != null && width.intValue() < 0)
+      throw new IllegalArgumentException("negative width");
+    if (height != null && height.intValue() < 0)
+      throw new IllegalArgumentException("negative height");
+  }
+
+  private OpenGraphImage(String url, String secureUrl, String type, int width, int height,
+      String alt) {
     if (url == null)
       throw new IllegalArgumentException("no url");
     this.url = url;
@@ -97,11 +112,43 @@ public class OpenGraphImage {
   }
 
   public OptionalInt getWidth() {
-    return width != null ? OptionalInt.of(width) : OptionalInt.empty();
+    return hasWidth() ? OptionalInt.of(width) : OptionalInt.empty();
+  }
+
+  /**
+   * @return true if this object has a width, false otherwise
+   */
+  public boolean hasWidth() {
+    return width != ABSENT;
+  }
+
+  /**
+   * Returns the width without allocating.
+   *
+   * @return the width, or the given default if this object has no width
+   */
+  public int widthOrDefault(int defaultValue) {
+    return hasWidth() ? width : defaultValue;
   }
 
   public OptionalInt getHeight() {
-    return height != null ? OptionalInt.of(height) : OptionalInt.empty();
+    return hasHeight() ? OptionalInt.of(height) : OptionalInt.empty();
+  }
+
+  /**
+   * @return true if this object has a height, false otherwise
+   */
+  public boolean hasHeight() {
+    return height != ABSENT;
+  }
+
+  /**
+   * Returns the height without allocating.
+   *
+   * @return the height, or the given default if this object has no height
+   */
+  public int heightOrDefault(int defaultValue) {
+    return hasHeight() ? height : defaultValue;
   }
 
   public Optional<String> getAlt() {
@@ -109,9 +156,16 @@ public class OpenGraphImage {
   }
 
   @Override
-  @Generated("Eclipse")
   public int hashCode() {
-    return Objects.hash(alt, height, secureUrl, type, url, width);
+    // Written out by hand, since Objects.hash boxes the dimensions and allocates an array.
+    int result = 1;
+    result = 31 * result + Objects.hashCode(alt);
+    result = 31 * result + height;
+    result = 31 * result + Objects.hashCode(secureUrl);
+    result = 31 * result + Objects.hashCode(type);
+    result = 31 * result + Objects.hashCode(url);
+    result = 31 * result + width;
+    return result;
   }
 
   @Override
@@ -124,16 +178,17 @@ public class OpenGraphImage {
     if (getClass() != obj.getClass())
       return false;
     OpenGraphImage other = (OpenGraphImage) obj;
-    return Objects.equals(alt, other.alt) && Objects.equals(height, other.height)
+    return Objects.equals(alt, other.alt) && height == other.height
         && Objects.equals(secureUrl, other.secureUrl) && Objects.equals(type, other.type)
-        && Objects.equals(url, other.url) && Objects.equals(width, other.width);
+        && Objects.equals(url, other.url) && width == other.width;
   }
 
   @Override
-  @Generated("Eclipse")
   public String toString() {
-    return "Image [url=" + url + ", secureUrl=" + secureUrl + ", type=" + type + ", width=" + width
-        + ", height=" + height + ", alt=" + alt + "]";
+    // Absent dimensions print as null, as they did when they were boxed.
+    return "Image [url=" + url + ", secureUrl=" + secureUrl + ", type=" + type + ", width="
+        + (hasWidth() ? width : null) + ", height=" + (hasHeight() ? height : null) + ", alt="
+        + alt + "]";
   }
 
   @Generated("SparkTools")
@@ -154,8 +209,8 @@ public class OpenGraphImage {
     private final String url;
     private String secureUrl;
     private String type;
-    private Integer width;
-    private Integer height;
+    private int width = ABSENT;
+    private int height = ABSENT;
     private String alt;
 
     public Builder(String url) {
@@ -200,30 +255,56 @@ public class OpenGraphImage {
     }
 
     /**
-     * @return the width
+     * @return the width, or null if not set
      */
     public Integer getWidth() {
-      return width;
+      return width != ABSENT ? Integer.valueOf(width) : null;
     }
 
     /**
-     * @param width the width to set
+     * @param width the width to set, or null to clear it
      */
     public void setWidth(Integer width) {
+      if (width != null)
+        setWidth(width.intValue());
+      else
+        this.width = ABSENT;
+    }
+
+    /**
+     * @param width the width to set
+     * @throws IllegalArgumentException if width is negative
+     */
+    public void setWidth(int width) {
+      if (width < 0)
+        throw new IllegalArgumentException("negative width");
       this.width = width;
     }
 
     /**
-     * @return the height
+     * @return the height, or null if not set
      */
     public Integer getHeight() {
-      return height;
+      return height != ABSENT ? Integer.valueOf(height) : null;
     }
 
     /**
-     * @param height the height to set
+     * @param height the height to set, or null to clear it
      */
     public void setHeight(Integer height) {
+      if (height != null)
+        setHeight(height.intValue());
+      else
+        this.height = ABSENT;
+    }
+
+    /**
+     * @param height the height to set
+     * @throws IllegalArgumentException if height is negative
+     */
+    public void setHeight(int height) {
+      if (height < 0)
+        throw new IllegalArgumentException("negative height");
       this.height = height;
     }
 
@@ -281,6 +362,17 @@ public class OpenGraphImage {
       return this;
     }
 
+    /**
+     * Builder method for width parameter.
+     * 
+     * @param width field to set
+     * @return builder
+     */
+    public Builder withWidth(int width) {
+      setWidth(width);
+      return this;
+    }
+
     /**
      * Builder method for height parameter.
      * 
@@ -292,6 +384,17 @@ public class OpenGraphImage {
       return this;
     }
 
+    /**
+     * Builder method for height parameter.
+     * 
+     * @param height field to set
+     * @return builder
+     */
+    public Builder withHeight(int height) {
+      setHeight(height);
+      return this;
+    }
+
     /**
      * Builder method for alt parameter.
      * 
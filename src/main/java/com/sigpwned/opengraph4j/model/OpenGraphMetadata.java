@@ -51,6 +51,216 @@ public class OpenGraphMetadata {
         profileUsername, profileGender);
   }
 
+  /**
+   * Returns an immutable copy of the given list. Empty and missing lists all share one instance,
+   * and small lists get the compact JDK implementations.
+   */
+  private static <T> List<T> compact(List<T> xs) {
+    if (xs == null || xs.isEmpty())
+      return emptyList();
+    for (T x : xs)
+      if (x == null)
+        return unmodifiableList(new ArrayList<>(xs));
+    return List.copyOf(xs);
+  }
+
+  /**
+   * The article vertical. Most pages are not articles, so we only allocate this when at least one
+   * article property is present.
+   */
+  private static final class Article {
+    public static Article of(OffsetDateTime publishedTime, OffsetDateTime modifiedTime,
+        OffsetDateTime expirationTime, List<String> authors, String section, List<String> tags) {
+      if (publishedTime == null && modifiedTime == null && expirationTime == null
+          && (authors == null || authors.isEmpty()) && section == null
+          && (tags == null || tags.isEmpty()))
+        return null;
+      return new Article(publishedTime, modifiedTime, expirationTime, compact(authors), section,
+          compact(tags));
+    }
+
+    /**
+     * When the article was first published.
+     */
+    public final OffsetDateTime publishedTime;
+
+    /**
+     * When the article was last changed.
+     */
+    public final OffsetDateTime modifiedTime;
+
+    /**
+     * When the article is out of date after.
+     */
+    public final OffsetDateTime expirationTime;
+
+    /**
+     * Writers of the article.
+     */
+    public final List<String> authors;
+
+    /**
+     * A high-level section name. E.g. Technology
+     */
+    public final String section;
+
+    /**
+     * Tag words associated with this article.
+     */
+    public final List<String> tags;
+
+    private Article(OffsetDateTime publishedTime, OffsetDateTime modifiedTime,
+        OffsetDateTime expirationTime, List<String> authors, String section, List<String> tags) {
+      this.publishedTime = publishedTime;
+      this.modifiedTime = modifiedTime;
+      this.expirationTime = expirationTime;
+      this.authors = authors;
+      this.section = section;
+      this.tags = tags;
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public int hashCode() {
+      return Objects.hash(authors, expirationTime, modifiedTime, publishedTime, section, tags);
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null)
+        return false;
+      if (getClass() != obj.getClass())
+        return false;
+      Article other = (Article) obj;
+      return Objects.equals(authors, other.authors)
+          && Objects.equals(expirationTime, other.expirationTime)
+          && Objects.equals(modifiedTime, other.modifiedTime)
+          && Objects.equals(publishedTime, other.publishedTime)
+          && Objects.equals(section, other.section) && Objects.equals(tags, other.tags);
+    }
+  }
+
+  /**
+   * The book vertical. We only allocate this when at least one book property is present.
+   */
+  private static final class Book {
+    public static Book of(List<String> authors, String isbn, OffsetDateTime releaseDate,
+        List<String> tags) {
+      if ((authors == null || authors.isEmpty()) && isbn == null && releaseDate == null
+          && (tags == null || tags.isEmpty()))
+        return null;
+      return new Book(compact(authors), isbn, releaseDate, compact(tags));
+    }
+
+    /**
+     * Who wrote this book.
+     */
+    public final List<String> authors;
+
+    /**
+     * The ISBN
+     */
+    public final String isbn;
+
+    /**
+     * The date the book was released.
+     */
+    public final OffsetDateTime releaseDate;
+
+    /**
+     * Tag words associated with this book.
+     */
+    public final List<String> tags;
+
+    private Book(List<String> authors, String isbn, OffsetDateTime releaseDate, List<String> tags) {
+      this.authors = authors;
+      this.isbn = isbn;
+      this.releaseDate = releaseDate;
+      this.tags = tags;
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public int hashCode() {
+      return Objects.hash(authors, isbn, releaseDate, tags);
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null)
+        return false;
+      if (getClass() != obj.getClass())
+        return false;
+      Book other = (Book) obj;
+      return Objects.equals(authors, other.authors) && Objects.equals(isbn, other.isbn)
+          && Objects.equals(releaseDate, other.releaseDate) && Objects.equals(tags, other.tags);
+    }
+  }
+
+  /**
+   * The profile vertical. We only allocate this when at least one profile property is present.
+   */
+  private static final class Profile {
+    public static Profile of(String firstName, String lastName, String username, String gender) {
+      if (firstName == null && lastName == null && username == null && gender == null)
+        return null;
+      return new Profile(firstName, lastName, username, gender);
+    }
+
+    /**
+     * A name normally given to an individual by a parent or self-chosen.
+     */
+    public final String firstName;
+
+    /**
+     * A name inherited from a family or marriage and by which the individual is commonly known.
+     */
+    public final String lastName;
+
+    /**
+     * A short unique string to identify them.
+     */
+    public final String username;
+
+    /**
+     * Their gender.
+     */
+    public final String gender;
+
+    private Profile(String firstName, String lastName, String username, String gender) {
+      this.firstName = firstName;
+      this.lastName = lastName;
+      this.username = username;
+      this.gender = gender;
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public int hashCode() {
+      return Objects.hash(firstName, gender, lastName, username);
+    }
+
+    @Override
+    @Generated("Eclipse")
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (obj == null)
+        return false;
+      if (getClass() != obj.getClass())
+        return false;
+      Profile other = (Profile) obj;
+      return Objects.equals(firstName, other.firstName) && Objects.equals(gender, other.gender)
+          && Objects.equals(lastName, other.lastName) && Objects.equals(username, other.username);
+    }
+  }
+
   /**
    * The type of your object, e.g., "video.movie". Depending on the type you specify, other
    * properties may also be required.
@@ -114,102 +324,29 @@ public class OpenGraphMetadata {
   private final List<OpenGraphAudio> audios;
 
   /**
-   * When the article was first published.
-   */
-  private final OffsetDateTime articlePublishedTime;
-
-  /**
-   * When the article was last changed.
+   * The article properties, or null if there are none.
    */
-  private final OffsetDateTime articleModifiedTime;
+  private final Article article;
 
   /**
-   * When the article is out of date after.
+   * The book properties, or null if there are none.
    */
-  private final OffsetDateTime articleExpirationTime;
+  private final Book book;
 
   /**
-   * Writers of the article.
+   * The profile properties, or null if there are none.
    */
-  private final List<String> articleAuthors;
-
-  /**
-   * A high-level section name. E.g. Technology
-   */
-  private final String articleSection;
-
-  /**
-   * Tag words associated with this article.
-   */
-  private final List<String> articleTags;
-
-  /**
-   * Who wrote this book.
-   */
-  private final List<String> bookAuthors;
-
-  /**
-   * The ISBN
-   */
-  private final String bookIsbn;
-
-  /**
-   * The date the book was released.
-   */
-  private final OffsetDateTime bookReleaseDate;
-
-  /**
-   * Tag words associated with this book.
-   */
-  private final List<String> bookTags;
-
-  /**
-   * A name normally given to an individual by a parent or self-chosen.
-   */
-  private final String profileFirstName;
-
-  /**
-   * A name inherited from a family or marriage and by which the individual is commonly known.
-   */
-  private final String profileLastName;
-
-  /**
-   * A short unique string to identify them.
-   */
-  private final String profileUsername;
-
-  /**
-   * Their gender.
-   */
-  private final String profileGender;
+  private final Profile profile;
 
   @Generated("SparkTools")
   private OpenGraphMetadata(Builder builder) {
-    this.type = builder.type;
-    this.title = builder.title;
-    this.url = builder.url;
-    this.description = builder.description;
-    this.determiner = builder.determiner;
-    this.locale = builder.locale;
-    this.alternateLocales = builder.alternateLocales;
-    this.siteName = builder.siteName;
-    this.images = builder.images;
-    this.videos = builder.videos;
-    this.audios = builder.audios;
-    this.articlePublishedTime = builder.articlePublishedTime;
-    this.articleModifiedTime = builder.articleModifiedTime;
-    this.articleExpirationTime = builder.articleExpirationTime;
-    this.articleAuthors = builder.articleAuthors;
-    this.articleSection = builder.articleSection;
-    this.articleTags = builder.articleTags;
-    this.bookAuthors = builder.bookAuthors;
-    this.bookIsbn = builder.bookIsbn;
-    this.bookReleaseDate = builder.bookReleaseDate;
-    this.bookTags = builder.bookTags;
-    this.profileFirstName = builder.profileFirstName;
-    this.profileLastName = builder.profileLastName;
-    this.profileUsername = builder.profileUsername;
-    this.profileGender = builder.profileGender;
+    this(builder.type, builder.title, builder.url, builder.description, builder.determiner,
+        builder.locale, builder.alternateLocales, builder.siteName, builder.images, builder.videos,
+        builder.audios, builder.articlePublishedTime, builder.articleModifiedTime,
+        builder.articleExpirationTime, builder.articleAuthors, builder.articleSection,
+        builder.articleTags, builder.bookAuthors, builder.bookIsbn, builder.bookReleaseDate,
+        builder.bookTags, builder.profileFirstName, builder.profileLastName,
+        builder.profileUsername, builder.profileGender);
   }
 
   public OpenGraphMetadata(String type, String title, String url, String description,
@@ -231,26 +368,15 @@ public class OpenGraphMetadata {
     this.description = description;
     this.determiner = determiner;
     this.locale = locale;
-    this.alternateLocales =
-        alternateLocales != null ? unmodifiableList(alternateLocales) : emptyList();
+    this.alternateLocales = compact(alternateLocales);
     this.siteName = siteName;
-    this.images = images != null ? unmodifiableList(images) : emptyList();
-    this.videos = videos != null ? unmodifiableList(videos) : emptyList();
-    this.audios = audios != null ? unmodifiableList(audios) : emptyList();
-    this.articlePublishedTime = articlePublishedTime;
-    this.articleModifiedTime = articleModifiedTime;
-    this.articleExpirationTime = articleExpirationTime;
-    this.articleAuthors = articleAuthors != null ? unmodifiableList(articleAuthors) : emptyList();
-    this.articleSection = articleSection;
-    this.articleTags = articleTags != null ? unmodifiableList(articleTags) : emptyList();
-    this.bookAuthors = bookAuthors != null ? unmodifiableList(bookAuthors) : emptyList();
-    this.bookIsbn = bookIsbn;
-    this.bookReleaseDate = bookReleaseDate;
-    this.bookTags = bookTags != null ? unmodifiableList(bookTags) : emptyList();
-    this.profileFirstName = profileFirstName;
-    this.profileLastName = profileLastName;
-    this.profileUsername = profileUsername;
-    this.profileGender = profileGender;
+    this.images = compact(images);
+    this.videos = compact(videos);
+    this.audios = compact(audios);
+    this.article = Article.of(articlePublishedTime, articleModifiedTime, articleExpirationTime,
+        articleAuthors, articleSection, articleTags);
+    this.book = Book.of(bookAuthors, bookIsbn, bookReleaseDate, bookTags);
+    this.profile = Profile.of(profileFirstName, profileLastName, profileUsername, profileGender);
   }
 
   /**
@@ -334,108 +460,105 @@ public class OpenGraphMetadata {
    * @return the articlePublishedTime
    */
   public OffsetDateTime getArticlePublishedTime() {
-    return articlePublishedTime;
+    return article != null ? article.publishedTime : null;
   }
 
   /**
    * @return the articleModifiedTime
    */
   public OffsetDateTime getArticleModifiedTime() {
-    return articleModifiedTime;
+    return article != null ? article.modifiedTime : null;
   }
 
   /**
    * @return the articleExpirationTime
    */
   public OffsetDateTime getArticleExpirationTime() {
-    return articleExpirationTime;
+    return article != null ? article.expirationTime : null;
   }
 
   /**
    * @return the articleAuthors
    */
   public List<String> getArticleAuthors() {
-    return articleAuthors;
+    return article != null ? article.authors : emptyList();
   }
 
   /**
    * @return the articleSection
    */
   public String getArticleSection() {
-    return articleSection;
+    return article != null ? article.section : null;
   }
 
   /**
    * @return the articleTags
    */
   public List<String> getArticleTags() {
-    return articleTags;
+    return article != null ? article.tags : emptyList();
   }
 
   /**
    * @return the bookAuthors
    */
   public List<String> getBookAuthors() {
-    return bookAuthors;
+    return book != null ? book.authors : emptyList();
   }
 
   /**
    * @return the bookIsbn
    */
   public String getBookIsbn() {
-    return bookIsbn;
+    return book != null ? book.isbn : null;
   }
 
   /**
    * @return the bookReleaseDate
    */
   public OffsetDateTime getBookReleaseDate() {
-    return bookReleaseDate;
+    return book != null ? book.releaseDate : null;
   }
 
   /**
    * @return the bookTags
    */
   public List<String> getBookTags() {
-    return bookTags;
+    return book != null ? book.tags : emptyList();
   }
 
   /**
    * @return the profileFirstName
    */
   public String getProfileFirstName() {
-    return profileFirstName;
+    return profile != null ? profile.firstName : null;
   }
 
   /**
    * @return the profileLastName
    */
   public String getProfileLastName() {
-    return profileLastName;
+    return profile != null ? profile.lastName : null;
   }
 
   /**
    * @return the profileUsername
    */
   public String getProfileUsername() {
-    return profileUsername;
+    return profile != null ? profile.username : null;
   }
 
   /**
    * @return the profileGender
    */
   public String getProfileGender() {
-    return profileGender;
+    return profile != null ? profile.gender : null;
   }
 
   @Override
   @Generated("Eclipse")
   public int hashCode() {
-    return Objects.hash(alternateLocales, articleAuthors, articleExpirationTime,
-        articleModifiedTime, articlePublishedTime, articleSection, articleTags, audios, bookAuthors,
-        bookIsbn, bookReleaseDate, bookTags, description, determiner, images, locale,
-        profileFirstName, profileGender, profileLastName, profileUsername, siteName, title, type,
-        url, videos);
+    return Objects.hash(alternateLocales, article, audios, book, description, determiner, images,
+        locale, profile, siteName, title, type, url, videos);
   }
 
   @Override
@@ -449,23 +572,10 @@ public class OpenGraphMetadata {
       return false;
     OpenGraphMetadata other = (OpenGraphMetadata) obj;
     return Objects.equals(alternateLocales, other.alternateLocales)
-        && Objects.equals(articleAuthors, other.articleAuthors)
-        && Objects.equals(articleExpirationTime, other.articleExpirationTime)
-        && Objects.equals(articleModifiedTime, other.articleModifiedTime)
-        && Objects.equals(articlePublishedTime, other.articlePublishedTime)
-        && Objects.equals(articleSection, other.articleSection)
-        && Objects.equals(articleTags, other.articleTags) && Objects.equals(audios, other.audios)
-        && Objects.equals(bookAuthors, other.bookAuthors)
-        && Objects.equals(bookIsbn, other.bookIsbn)
-        && Objects.equals(bookReleaseDate, other.bookReleaseDate)
-        && Objects.equals(bookTags, other.bookTags)
-        && Objects.equals(description, other.description)
+        && Objects.equals(article, other.article) && Objects.equals(audios, other.audios)
+        && Objects.equals(book, other.book) && Objects.equals(description, other.description)
         && Objects.equals(determiner, other.determiner) && Objects.equals(images, other.images)
-        && Objects.equals(locale, other.locale)
-        && Objects.equals(profileFirstName, other.profileFirstName)
-        && Objects.equals(profileGender, other.profileGender)
-        && Objects.equals(profileLastName, other.profileLastName)
-        && Objects.equals(profileUsername, other.profileUsername)
+        && Objects.equals(locale, other.locale) && Objects.equals(profile, other.profile)
         && Objects.equals(siteName, other.siteName) && Objects.equals(title, other.title)
         && Objects.equals(type, other.type) && Objects.equals(url, other.url)
         && Objects.equals(videos, other.videos);
@@ -478,13 +588,14 @@ public class OpenGraphMetadata {
         + ", description=" + description + ", determiner=" + determiner + ", locale=" + locale
         + ", alternateLocales=" + alternateLocales + ", siteName=" + siteName + ", images=" + images
         + ", videos=" + videos + ", audios=" + audios + ", articlePublishedTime="
-        + articlePublishedTime + ", articleModifiedTime=" + articleModifiedTime
-        + ", articleExpirationTime=" + articleExpirationTime + ", articleAuthors=" + articleAuthors
-        + ", articleSection=" + articleSection + ", articleTags=" + articleTags + ", bookAuthors="
-        + bookAuthors + ", bookIsbn=" + bookIsbn + ", bookReleaseDate=" + bookReleaseDate
-        + ", bookTags=" + bookTags + ", profileFirstName=" + profileFirstName + ", profileLastName="
-        + profileLastName + ", profileUsername=" + profileUsername + ", profileGender="
-        + profileGender + "]";
+        + getArticlePublishedTime() + ", articleModifiedTime=" + getArticleModifiedTime()
+        + ", articleExpirationTime=" + getArticleExpirationTime() + ", articleAuthors="
+        + getArticleAuthors() + ", articleSection=" + getArticleSection() + ", articleTags="
+        + getArticleTags() + ", bookAuthors=" + getBookAuthors() + ", bookIsbn=" + getBookIsbn()
+        + ", bookReleaseDate=" + getBookReleaseDate() + ", bookTags=" + getBookTags()
+        + ", profileFirstName=" + getProfileFirstName() + ", profileLastName="
+        + getProfileLastName() + ", profileUsername=" + getProfileUsername() + ", profileGender="
+        + getProfileGender() + "]";
   }
 
   /**
@@ -516,21 +627,21 @@ public class OpenGraphMetadata {
     private String description;
     private String determiner;
     private String locale;
-    private List<String> alternateLocales = new ArrayList<>();
+    private List<String> alternateLocales;
     private String siteName;
-    private List<OpenGraphImage> images = new ArrayList<>();
-    private List<OpenGraphVideo> videos = new ArrayList<>();
-    private List<OpenGraphAudio> audios = new ArrayList<>();
+    private List<OpenGraphImage> images;
+    private List<OpenGraphVideo> videos;
+    private List<OpenGraphAudio> audios;
     private OffsetDateTime articlePublishedTime;
     private OffsetDateTime articleModifiedTime;
     private OffsetDateTime articleExpirationTime;
-    private List<String> articleAuthors = new ArrayList<>();
+    private List<String> articleAuthors;
     private String articleSection;
-    private List<String> articleTags = new ArrayList<>();
-    private List<String> bookAuthors = new ArrayList<>();
+    private List<String> articleTags;
+    private List<String> bookAuthors;
     private String bookIsbn;
     private OffsetDateTime bookReleaseDate;
-    private List<String> bookTags = new ArrayList<>();
+    private List<String> bookTags;
     private String profileFirstName;
     private String profileLastName;
     private String profileUsername;
@@ -539,31 +650,88 @@ public class OpenGraphMetadata {
     public Builder() {}
 
     private Builder(OpenGraphMetadata openGraphMetadata) {
-      this.type = openGraphMetadata.type;
-      this.title = openGraphMetadata.title;
-      this.url = openGraphMetadata.url;
-      this.description = openGraphMetadata.description;
-      this.determiner = openGraphMetadata.determiner;
-      this.locale = openGraphMetadata.locale;
-      this.alternateLocales = openGraphMetadata.alternateLocales;
-      this.siteName = openGraphMetadata.siteName;
-      this.images = openGraphMetadata.images;
-      this.videos = openGraphMetadata.videos;
-      this.audios = openGraphMetadata.audios;
-      this.articlePublishedTime = openGraphMetadata.articlePublishedTime;
-      this.articleModifiedTime = openGraphMetadata.articleModifiedTime;
-      this.articleExpirationTime = openGraphMetadata.articleExpirationTime;
-      this.articleAuthors = openGraphMetadata.articleAuthors;
-      this.articleSection = openGraphMetadata.articleSection;
-      this.articleTags = openGraphMetadata.articleTags;
-      this.bookAuthors = openGraphMetadata.bookAuthors;
-      this.bookIsbn = openGraphMetadata.bookIsbn;
-      this.bookReleaseDate = openGraphMetadata.bookReleaseDate;
-      this.bookTags = openGraphMetadata.bookTags;
-      this.profileFirstName = openGraphMetadata.profileFirstName;
-      this.profileLastName = openGraphMetadata.profileLastName;
-      this.profileUsername = openGraphMetadata.profileUsername;
-      this.profileGender = openGraphMetadata.profileGender;
+      this.type = openGraphMetadata.getType();
+      this.title = openGraphMetadata.getTitle();
+      this.url = openGraphMetadata.getUrl();
+      this.description = openGraphMetadata.getDescription();
+      this.determiner = openGraphMetadata.getDeterminer();
+      this.locale = openGraphMetadata.getLocale();
+      this.alternateLocales = mutable(openGraphMetadata.getAlternateLocales());
+      this.siteName = openGraphMetadata.getSiteName();
+      this.images = mutable(openGraphMetadata.getImages());
+      this.videos = mutable(openGraphMetadata.getVideos());
+      this.audios = mutable(openGraphMetadata.getAudios());
+      this.articlePublishedTime = openGraphMetadata.getArticlePublishedTime();
+      this.articleModifiedTime = openGraphMetadata.getArticleModifiedTime();
+      this.articleExpirationTime = openGraphMetadata.getArticleExpirationTime();
+      this.articleAuthors = mutable(openGraphMetadata.getArticleAuthors());
+      this.articleSection = openGraphMetadata.getArticleSection();
+      this.articleTags = mutable(openGraphMetadata.getArticleTags());
+      this.bookAuthors = mutable(openGraphMetadata.getBookAuthors());
+      this.bookIsbn = openGraphMetadata.getBookIsbn();
+      this.bookReleaseDate = openGraphMetadata.getBookReleaseDate();
+      this.bookTags = mutable(openGraphMetadata.getBookTags());
+      this.profileFirstName = openGraphMetadata.getProfileFirstName();
+      this.profileLastName = openGraphMetadata.getProfileLastName();
+      this.profileUsername = openGraphMetadata.getProfileUsername();
+      this.profileGender = openGraphMetadata.getProfileGender();
+    }
+
+    /**
+     * The builder allocates its lists lazily, so most builders never allocate most lists.
+     */
+    private static <T> List<T> mutable(List<T> xs) {
+      return xs.isEmpty() ? null : new ArrayList<>(xs);
+    }
+
+    /**
+     * Lists longer than this are dropped instead of cleared, so that one unusual object doesn't
+     * leave a reused builder holding a large backing array forever.
+     */
+    private static final int MAX_RETAINED_LIST_SIZE = 64;
+
+    private static <T> List<T> cleared(List<T> xs) {
+      if (!(xs instanceof ArrayList) || xs.size() > MAX_RETAINED_LIST_SIZE)
+        return null;
+      xs.clear();
+      return xs;
+    }
+
+    /**
+     * Clears every field, so that the builder can be reused to build another object. The lists
+     * the builder holds are kept and reused when they are mutable and small, and dropped
+     * otherwise. As with the list getters, the builder treats lists given to its setters as its
+     * own, so clearing may empty them.
+     * 
+     * @return builder
+     */
+    public Builder clear() {
+      this.type = null;
+      this.title = null;
+      this.url = null;
+      this.description = null;
+      this.determiner = null;
+      this.locale = null;
+      this.alternateLocales = cleared(alternateLocales);
+      this.siteName = null;
+      this.images = cleared(images);
+      this.videos = cleared(videos);
+      this.audios = cleared(audios);
+      this.articlePublishedTime = null;
+      this.articleModifiedTime = null;
+      this.articleExpirationTime = null;
+      this.articleAuthors = cleared(articleAuthors);
+      this.articleSection = null;
+      this.articleTags = cleared(articleTags);
+      this.bookAuthors = cleared(bookAuthors);
+      this.bookIsbn = null;
+      this.bookReleaseDate = null;
+      this.bookTags = cleared(bookTags);
+      this.profileFirstName = null;
+      this.profileLastName = null;
+      this.profileUsername = null;
+      this.profileGender = null;
+      return this;
     }
 
     /**
@@ -929,6 +1097,8 @@ public class OpenGraphMetadata {
      * @return the alternateLocales
      */
     public List<String> getAlternateLocales() {
+      if (alternateLocales == null)
+        alternateLocales = new ArrayList<>();
       return alternateLocales;
     }
 
@@ -959,6 +1129,8 @@ public class OpenGraphMetadata {
      * @return the images
      */
     public List<OpenGraphImage> getImages() {
+      if (images == null)
+        images = new ArrayList<>();
       return images;
     }
 
@@ -975,6 +1147,8 @@ public class OpenGraphMetadata {
      * @return the videos
      */
     public List<OpenGraphVideo> getVideos() {
+      if (videos == null)
+        videos = new ArrayList<>();
       return videos;
     }
 
@@ -991,6 +1165,8 @@ public class OpenGraphMetadata {
      * @return the audios
      */
     public List<OpenGraphAudio> getAudios() {
+      if (audios == null)
+        audios = new ArrayList<>();
       return audios;
     }
 
@@ -1049,6 +1225,8 @@ public class OpenGraphMetadata {
      * @return the articleAuthors
      */
     public List<String> getArticleAuthors() {
+      if (articleAuthors == null)
+        articleAuthors = new ArrayList<>();
       return articleAuthors;
     }
 
@@ -1079,6 +1257,8 @@ public class OpenGraphMetadata {
      * @return the articleTags
      */
     public List<String> getArticleTags() {
+      if (articleTags == null)
+        articleTags = new ArrayList<>();
       return articleTags;
     }
 
@@ -1095,6 +1275,8 @@ public class OpenGraphMetadata {
      * @return the bookAuthors
      */
     public List<String> getBookAuthors() {
+      if (bookAuthors == null)
+        bookAuthors = new ArrayList<>();
       return bookAuthors;
     }
 
@@ -1139,6 +1321,8 @@ public class OpenGraphMetadata {
      * @return the bookTags
      */
     public List<String> getBookTags() {
+      if (bookTags == null)
+        bookTags = new ArrayList<>();
       return bookTags;
     }
 
@@ -0,0 +1,61 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.problem;
+
+/**
+ * The kinds of problems an extractor can find in a document. None of these stop extraction; the
+ * offending tag is simply ignored, or the tags found so far are kept.
+ */
+public enum ExtractionProblem {
+  /**
+   * The tag's property is not an OpenGraph property we understand. Most pages have plenty of
+   * these, e.g., Twitter and Facebook tags, so this is the least interesting problem.
+   */
+  UNRECOGNIZED_PROPERTY,
+
+  /**
+   * The tag describes an image, video, or audio, but it does not follow an og:image, og:video, or
+   * og:audio tag, respectively.
+   */
+  NO_MEDIA_IN_FLIGHT,
+
+  /**
+   * The tag's value should be a width or height, but it is not a non-negative integer.
+   */
+  INVALID_DIMENSION,
+
+  /**
+   * The tag's value should be a date, but it is not a valid ISO-8601 date or timestamp.
+   */
+  INVALID_DATE,
+
+  /**
+   * The tag was ignored, or its value truncated, because the document reached one of the
+   * extractor's {@link com.sigpwned.opengraph4j.ExtractionLimits}.
+   */
+  LIMIT_EXCEEDED,
+
+  /**
+   * The document's bytes could not be decoded from their transfer or content encoding, e.g.,
+   * because a gzipped or chunked body is truncated. Extraction keeps the tags found before the
+   * failure. The property is the encoding, and the content is the error message.
+   */
+  INVALID_ENCODING;
+}
@@ -0,0 +1,63 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.problem;
+
+import com.sigpwned.opengraph4j.OpenGraphExtractor;
+
+/**
+ * Receives the problems an {@link OpenGraphExtractor} finds in documents. Sinks are called on the
+ * extracting thread, so they must be thread-safe if the extractor is shared.
+ *
+ * <p>
+ * The extractor asks the sink which problems it wants once at the start of each extraction, and
+ * then doesn't report the rest at all, so a sink that wants nothing costs nothing per tag.
+ *
+ * @see LoggingExtractionProblemSink
+ */
+@FunctionalInterface
+public interface ExtractionProblemSink {
+  /**
+   * A sink that wants no problems.
+   */
+  public static final ExtractionProblemSink NONE = new ExtractionProblemSink() {
+    @Override
+    public boolean isEnabled(ExtractionProblem problem) {
+      return false;
+    }
+
+    @Override
+    public void problem(ExtractionProblem problem, CharSequence property,
+        CharSequence content) {}
+  };
+
+  /**
+   * @return true if this sink wants to hear about the given kind of problem, or false otherwise
+   */
+  public default boolean isEnabled(ExtractionProblem problem) {
+    return true;
+  }
+
+  /**
+   * Handles one problem. The arguments are only valid for the duration of the call, so
+   * implementations that keep either value must copy it, e.g., with
+   * {@link CharSequence#toString()}.
+   */
+  public void problem(ExtractionProblem problem, CharSequence property, CharSequence content);
+}
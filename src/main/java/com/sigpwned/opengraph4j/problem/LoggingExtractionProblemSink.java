@@ -0,0 +1,91 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.problem;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.sigpwned.opengraph4j.OpenGraphExtractor;
+
+/**
+ * An {@link ExtractionProblemSink} that logs problems. Unrecognized properties are logged at trace
+ * level, and everything else at debug level.
+ */
+public class LoggingExtractionProblemSink implements ExtractionProblemSink {
+  /**
+   * Logs to the {@link OpenGraphExtractor} logger. This is the default sink.
+   */
+  public static final LoggingExtractionProblemSink DEFAULT =
+      new LoggingExtractionProblemSink(LoggerFactory.getLogger(OpenGraphExtractor.class));
+
+  private final Logger logger;
+
+  public LoggingExtractionProblemSink(Logger logger) {
+    if (logger == null)
+      throw new NullPointerException();
+    this.logger = logger;
+  }
+
+  /**
+   * @return the logger
+   */
+  public Logger getLogger() {
+    return logger;
+  }
+
+  @Override
+  public boolean isEnabled(ExtractionProblem problem) {
+    switch (problem) {
+      case UNRECOGNIZED_PROPERTY:
+        return logger.isTraceEnabled();
+      default:
+        return logger.isDebugEnabled();
+    }
+  }
+
+  @Override
+  public void problem(ExtractionProblem problem, CharSequence property, CharSequence content) {
+    // We convert to String eagerly because the arguments are only valid during this call, but the
+    // logging backend may format the message later.
+    switch (problem) {
+      case UNRECOGNIZED_PROPERTY:
+        logger.trace("Ignoring tag {} because it is unrecognized", property.toString());
+        break;
+      case NO_MEDIA_IN_FLIGHT:
+        logger.debug("Ignoring tag {} because no media is currently in flight",
+            property.toString());
+        break;
+      case LIMIT_EXCEEDED:
+        logger.debug("Limiting tag {} because the document reached an extraction limit",
+            property.toString());
+        break;
+      case INVALID_ENCODING:
+        logger.debug("Stopping at invalid {} encoding: {}", property.toString(),
+            content.toString());
+        break;
+      case INVALID_DIMENSION:
+      case INVALID_DATE:
+        logger.debug("Ignoring tag {} due to invalid value {}", property.toString(),
+            content.toString());
+        break;
+      default:
+        throw new AssertionError(problem);
+    }
+  }
+}
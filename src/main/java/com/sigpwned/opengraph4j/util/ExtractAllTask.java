@@ -0,0 +1,69 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.util;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+
+/**
+ * Extracts OpenGraph metadata from a range of documents, splitting the range in half until it is
+ * small enough to extract sequentially. Each result is written to the same index as its document,
+ * so results come back in input order no matter which thread computes them.
+ */
+class ExtractAllTask<T> extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Extracting even one document is a lot of work compared to forking a task, so we keep the leaf
+   * tasks small to balance load well when document sizes vary a lot.
+   */
+  private static final int THRESHOLD = 4;
+
+  private final List<? extends T> docs;
+  private final Function<? super T, Optional<OpenGraphMetadata>> extractor;
+  private final Optional<OpenGraphMetadata>[] results;
+  private final int start;
+  private final int end;
+
+  public ExtractAllTask(List<? extends T> docs,
+      Function<? super T, Optional<OpenGraphMetadata>> extractor,
+      Optional<OpenGraphMetadata>[] results, int start, int end) {
+    this.docs = docs;
+    this.extractor = extractor;
+    this.results = results;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  protected void compute() {
+    if (end - start <= THRESHOLD) {
+      for (int i = start; i < end; i++)
+        results[i] = extractor.apply(docs.get(i));
+    } else {
+      int middle = (start + end) >>> 1;
+      invokeAll(new ExtractAllTask<>(docs, extractor, results, start, middle),
+          new ExtractAllTask<>(docs, extractor, results, middle, end));
+    }
+  }
+}
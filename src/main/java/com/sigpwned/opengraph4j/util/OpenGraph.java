@@ -19,29 +19,365 @@
  */
 package com.sigpwned.opengraph4j.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import org.jsoup.Jsoup;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import org.jsoup.nodes.Document;
+import com.sigpwned.opengraph4j.OpenGraphExtractionSession;
 import com.sigpwned.opengraph4j.OpenGraphExtractor;
+import com.sigpwned.opengraph4j.cache.ContentHash;
+import com.sigpwned.opengraph4j.cache.ExtractionCache;
+import com.sigpwned.opengraph4j.html.OpenGraphPrescanner;
 import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.problem.ExtractionProblem;
+import com.sigpwned.opengraph4j.problem.ExtractionProblemSink;
+import com.sigpwned.opengraph4j.warc.WarcHttpResponse;
+import com.sigpwned.opengraph4j.warc.WarcReader;
+import com.sigpwned.opengraph4j.warc.WarcRecord;
 
 /**
  * OpenGraph helper methods
  */
 public final class OpenGraph {
   private OpenGraph() {}
+
+  /**
+   * The extractor is thread-safe, so everyone can share the same one.
+   */
+  private static final OpenGraphExtractor EXTRACTOR = new OpenGraphExtractor();
   
   /**
-   * Extract OpenGraph metadata from an HTML document
+   * Extract OpenGraph metadata from an HTML document. Documents that cannot possibly contain an
+   * og:type tag are rejected by a quick scan, without parsing them at all.
+   * 
+   * @see OpenGraphPrescanner
    */
   public static Optional<OpenGraphMetadata> extract(String doc) {
-    return extract(Jsoup.parse(doc));
+    return EXTRACTOR.extract(doc);
+  }
+  
+  /**
+   * Extract OpenGraph metadata from an HTML document, or return the cached result if the cache has
+   * already seen a document with identical content. Documents are identified by a 128-bit hash of
+   * their content, so cache hits never parse the document at all.
+   */
+  public static Optional<OpenGraphMetadata> extract(String doc, ExtractionCache cache) {
+    return cache.get(ContentHash.of(doc), () -> extract(doc));
   }
   
   /**
    * Extract OpenGraph metadata from a parsed HTML document
    */
   public static Optional<OpenGraphMetadata> extract(Document doc) {
-    return new OpenGraphExtractor().extract(doc);
+    return EXTRACTOR.extract(doc);
+  }
+
+  /**
+   * Extract OpenGraph metadata from an HTML document without parsing it, reading only as far as the
+   * end of the document's head
+   * 
+   * @see OpenGraphExtractor#extract(Reader)
+   */
+  public static Optional<OpenGraphMetadata> extract(Reader doc) throws IOException {
+    return EXTRACTOR.extract(doc);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document without parsing it, reading
+   * only as far as the end of the document's head
+   * 
+   * @see OpenGraphExtractor#extract(InputStream)
+   */
+  public static Optional<OpenGraphMetadata> extract(InputStream doc) throws IOException {
+    return EXTRACTOR.extract(doc);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document without parsing it, reading
+   * only as far as the end of the document's head
+   * 
+   * @see OpenGraphExtractor#extract(ReadableByteChannel)
+   */
+  public static Optional<OpenGraphMetadata> extract(ReadableByteChannel doc) throws IOException {
+    return EXTRACTOR.extract(doc);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document in the given buffer without
+   * parsing or copying it, reading only as far as the end of the document's head
+   * 
+   * @see OpenGraphExtractor#extract(ByteBuffer)
+   */
+  public static Optional<OpenGraphMetadata> extract(ByteBuffer doc) {
+    return EXTRACTOR.extract(doc);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document in the given buffer without
+   * parsing or copying it, reading only as far as the end of the document's head. The given
+   * charset is used unless the document has a byte order mark.
+   * 
+   * @param charset the charset declared outside the document, e.g., by the HTTP response, or null
+   *        if none
+   * @see OpenGraphExtractor#extract(ByteBuffer, Charset)
+   */
+  public static Optional<OpenGraphMetadata> extract(ByteBuffer doc, Charset charset) {
+    return EXTRACTOR.extract(doc, charset);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document, or return the cached result
+   * if the cache has already seen a document with identical bytes. Documents are identified by a
+   * 128-bit hash of their bytes, so cache hits never decode the document at all. The buffer's
+   * position is not changed.
+   * 
+   * @see #extract(ByteBuffer)
+   */
+  public static Optional<OpenGraphMetadata> extract(ByteBuffer doc, ExtractionCache cache) {
+    return extract(doc, null, cache);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document, or return the cached result
+   * if the cache has already seen a document with identical bytes and declared charset. The
+   * buffer's position is not changed.
+   * 
+   * @param charset the charset declared outside the document, or null if none
+   * @see #extract(ByteBuffer, Charset)
+   * @see ContentHash#of(ByteBuffer, Charset)
+   */
+  public static Optional<OpenGraphMetadata> extract(ByteBuffer doc, Charset charset,
+      ExtractionCache cache) {
+    return cache.get(ContentHash.of(doc, charset), () -> extract(doc, charset));
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document, or return the cached result
+   * if the cache has already seen a document with identical bytes.
+   * 
+   * @see #extract(ByteBuffer, ExtractionCache)
+   */
+  public static Optional<OpenGraphMetadata> extract(byte[] doc, ExtractionCache cache) {
+    return extract(ByteBuffer.wrap(doc), cache);
+  }
+
+  /**
+   * Extract OpenGraph metadata from many HTML documents in parallel using the common fork-join
+   * pool. The results are in the same order as the documents.
+   * 
+   * @see #extractAll(List, ForkJoinPool)
+   */
+  public static List<Optional<OpenGraphMetadata>> extractAll(List<String> docs) {
+    return extractAll(docs, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Extract OpenGraph metadata from many HTML documents in parallel using the given fork-join pool.
+   * Each document is extracted exactly as by {@link #extract(String)}. The results are in the same
+   * order as the documents. The given list should support fast random access.
+   */
+  public static List<Optional<OpenGraphMetadata>> extractAll(List<String> docs,
+      ForkJoinPool pool) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Optional<OpenGraphMetadata>[] results = new Optional[docs.size()];
+    pool.invoke(new ExtractAllTask<>(docs, OpenGraph::extract, results, 0, results.length));
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  /**
+   * How many WARC records we extract in parallel at a time. This bounds how many records we hold
+   * in memory at once.
+   */
+  private static final int WARC_BATCH_SIZE = 256;
+
+  /**
+   * How many bytes of an encoded WARC response body we decode at a time
+   */
+  private static final int WARC_BODY_BUFFER_SIZE = 8192;
+
+  /**
+   * Extract OpenGraph metadata from every HTTP response in the given WARC file in parallel using
+   * the common fork-join pool.
+   * 
+   * @see #extractAll(WarcReader, ForkJoinPool, BiConsumer)
+   */
+  public static void extractAll(WarcReader warc,
+      BiConsumer<WarcRecord, Optional<OpenGraphMetadata>> consumer) throws IOException {
+    extractAll(warc, ForkJoinPool.commonPool(), consumer);
+  }
+
+  /**
+   * Extract OpenGraph metadata from every HTTP response in the given WARC file in parallel using
+   * the given fork-join pool. Each response payload is extracted straight from the file's bytes,
+   * using the charset from the response's {@code Content-Type} header if it has one. Payloads
+   * stored with a chunked transfer encoding or a gzip or deflate content encoding are decoded
+   * first. Records are read in batches, and each batch is extracted in parallel. The consumer
+   * receives each record and its result in file order, on the calling thread, so it need not be
+   * thread-safe. Records that are not HTTP responses are skipped. If a payload uses an
+   * unsupported encoding or cannot be decoded to the end, e.g., because the record is truncated,
+   * then the failure is reported to the problem sink as
+   * {@link ExtractionProblem#INVALID_ENCODING}, and the result has whatever tags came before it.
+   * 
+   * @see OpenGraphExtractor#extract(ByteBuffer, java.nio.charset.Charset)
+   * @see WarcHttpResponse#openBody()
+   */
+  public static void extractAll(WarcReader warc, ForkJoinPool pool,
+      BiConsumer<WarcRecord, Optional<OpenGraphMetadata>> consumer) throws IOException {
+    List<WarcRecord> records = new ArrayList<>(WARC_BATCH_SIZE);
+    List<WarcHttpResponse> responses = new ArrayList<>(WARC_BATCH_SIZE);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Optional<OpenGraphMetadata>[] results = new Optional[WARC_BATCH_SIZE];
+
+    for (WarcRecord record = warc.next(); record != null; record = warc.next()) {
+      Optional<WarcHttpResponse> response = record.getHttpResponse();
+      if (response.isEmpty())
+        continue;
+
+      records.add(record);
+      responses.add(response.get());
+
+      if (records.size() == WARC_BATCH_SIZE) {
+        extractAll(records, responses, results, pool, consumer);
+        records.clear();
+        responses.clear();
+      }
+    }
+
+    if (!records.isEmpty())
+      extractAll(records, responses, results, pool, consumer);
+  }
+
+  private static void extractAll(List<WarcRecord> records, List<WarcHttpResponse> responses,
+      Optional<OpenGraphMetadata>[] results, ForkJoinPool pool,
+      BiConsumer<WarcRecord, Optional<OpenGraphMetadata>> consumer) {
+    pool.invoke(new ExtractAllTask<>(responses,
+        OpenGraph::extract, results, 0, responses.size()));
+    for (int i = 0; i < records.size(); i++) {
+      consumer.accept(records.get(i), results[i]);
+      results[i] = null;
+    }
+  }
+
+  /**
+   * Extract OpenGraph metadata from the body of an HTTP response stored in a WARC file. Payloads
+   * stored without any encoding are extracted straight from the file's bytes. Chunked or
+   * compressed payloads are decoded as they are read, and reading stops at the end of the head.
+   * If decoding fails partway through, e.g., because the record is truncated, then the failure is
+   * reported to the extractor's problem sink, and the result has whatever tags came before it.
+   */
+  private static Optional<OpenGraphMetadata> extract(WarcHttpResponse response) {
+    if (!response.isEncoded())
+      return EXTRACTOR.extract(response.getPayload(), response.getCharset().orElse(null));
+
+    OpenGraphExtractionSession session =
+        EXTRACTOR.newSession(response.getCharset().orElse(null));
+    try (InputStream body = response.openBody()) {
+      byte[] buf = new byte[WARC_BODY_BUFFER_SIZE];
+      for (int n = body.read(buf); n != -1; n = body.read(buf))
+        if (session.feed(ByteBuffer.wrap(buf, 0, n)))
+          break;
+    } catch (IOException e) {
+      ExtractionProblemSink problemSink = EXTRACTOR.getProblemSink();
+      if (problemSink.isEnabled(ExtractionProblem.INVALID_ENCODING))
+        problemSink.problem(ExtractionProblem.INVALID_ENCODING, encoding(response),
+            String.valueOf(e.getMessage()));
+    }
+    return session.finish();
+  }
+
+  /**
+   * @return the transfer and content encodings of the given response, for reporting
+   */
+  private static String encoding(WarcHttpResponse response) {
+    String transfer =
+        response.getHeader(WarcHttpResponse.TRANSFER_ENCODING_HEADER_NAME).orElse("identity");
+    String content =
+        response.getHeader(WarcHttpResponse.CONTENT_ENCODING_HEADER_NAME).orElse("identity");
+    return transfer + "/" + content;
+  }
+
+  /**
+   * Extract OpenGraph metadata from an HTML document asynchronously using the default executor,
+   * which runs each extraction on its own virtual thread if the runtime supports them, or in the
+   * common fork-join pool otherwise.
+   * 
+   * @see #extract(String)
+   */
+  public static CompletableFuture<Optional<OpenGraphMetadata>> extractAsync(String doc) {
+    return extractAsync(doc, DefaultExecutorHolder.EXECUTOR);
+  }
+
+  /**
+   * Extract OpenGraph metadata from an HTML document asynchronously using the given executor
+   * 
+   * @see #extract(String)
+   */
+  public static CompletableFuture<Optional<OpenGraphMetadata>> extractAsync(String doc,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(() -> extract(doc), executor);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document asynchronously using the
+   * default executor, which runs each extraction on its own virtual thread if the runtime supports
+   * them, or in the common fork-join pool otherwise. If reading the document fails, then the
+   * returned future completes exceptionally with an {@link UncheckedIOException}.
+   * 
+   * @see #extract(InputStream)
+   */
+  public static CompletableFuture<Optional<OpenGraphMetadata>> extractAsync(InputStream doc) {
+    return extractAsync(doc, DefaultExecutorHolder.EXECUTOR);
+  }
+
+  /**
+   * Extract OpenGraph metadata from the raw bytes of an HTML document asynchronously using the
+   * given executor. If reading the document fails, then the returned future completes
+   * exceptionally with an {@link UncheckedIOException}.
+   * 
+   * @see #extract(InputStream)
+   */
+  public static CompletableFuture<Optional<OpenGraphMetadata>> extractAsync(InputStream doc,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return extract(doc);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * Creates the default executor for asynchronous extraction lazily, on first use. We target Java
+   * 11, so we look for virtual threads reflectively.
+   */
+  private static class DefaultExecutorHolder {
+    public static final Executor EXECUTOR = newDefaultExecutor();
+
+    private static Executor newDefaultExecutor() {
+      try {
+        Method newVirtualThreadPerTaskExecutor =
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (Executor) newVirtualThreadPerTaskExecutor.invoke(null);
+      } catch (ReflectiveOperationException e) {
+        // Either this runtime doesn't have virtual threads, or they're a disabled preview feature.
+        return ForkJoinPool.commonPool();
+      }
+    }
   }
 }
@@ -0,0 +1,130 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.warc;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes an HTTP/1.1 body with {@code Transfer-Encoding: chunked}. Chunk extensions and trailers
+ * are ignored. Both CRLF and bare LF line endings are accepted.
+ */
+class ChunkedInputStream extends FilterInputStream {
+  /**
+   * The number of bytes left in the current chunk, or 0 if the next chunk header has not been read
+   * yet, or -1 if the last chunk has been read
+   */
+  private long remaining;
+
+  private boolean first;
+
+  public ChunkedInputStream(InputStream in) {
+    super(in);
+    this.remaining = 0L;
+    this.first = true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buf = new byte[1];
+    int n = read(buf, 0, 1);
+    return n == -1 ? -1 : buf[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0)
+      return 0;
+
+    if (remaining == 0L)
+      nextChunk();
+    if (remaining == -1L)
+      return -1;
+
+    int n = in.read(b, off, (int) Math.min(len, remaining));
+    if (n == -1)
+      throw new EOFException("chunked body ends mid-chunk");
+    remaining = remaining - n;
+
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    byte[] buf = new byte[(int) Math.min(n, 8192L)];
+    long result = 0L;
+    while (result < n) {
+      int count = read(buf, 0, (int) Math.min(buf.length, n - result));
+      if (count == -1)
+        break;
+      result = result + count;
+    }
+    return result;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return remaining > 0L ? (int) Math.min(in.available(), remaining) : 0;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  /**
+   * Reads the next chunk header, and the line ending of the previous chunk if there is one
+   */
+  private void nextChunk() throws IOException {
+    if (!first && !readLine().isEmpty())
+      throw new IOException("chunk is longer than its declared size");
+    first = false;
+
+    String line = readLine();
+    int semicolon = line.indexOf(';');
+    if (semicolon != -1)
+      line = line.substring(0, semicolon);
+    line = line.strip();
+
+    long size;
+    try {
+      size = Long.parseLong(line, 16);
+    } catch (NumberFormatException e) {
+      throw new IOException("invalid chunk size: " + line);
+    }
+    if (size < 0L)
+      throw new IOException("invalid chunk size: " + line);
+
+    remaining = size == 0L ? -1L : size;
+  }
+
+  private String readLine() throws IOException {
+    StringBuilder result = new StringBuilder();
+    for (int ch = in.read(); ch != '\n'; ch = in.read()) {
+      if (ch == -1)
+        throw new EOFException("chunked body ends mid-line");
+      if (ch != '\r')
+        result.append((char) ch);
+    }
+    return result.toString();
+  }
+}
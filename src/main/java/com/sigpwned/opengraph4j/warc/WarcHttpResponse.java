@@ -0,0 +1,263 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.warc;
+
+import static java.util.Collections.unmodifiableMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import com.sigpwned.opengraph4j.html.CharsetSniffer;
+
+/**
+ * An HTTP response stored in a WARC response record. The payload is a slice of the record's content
+ * block, so it is never copied.
+ *
+ * <p>
+ * Many WARC writers store the payload exactly as it came off the wire, so it may still have a
+ * {@code Transfer-Encoding} or {@code Content-Encoding} applied. {@link #getPayload()} returns
+ * those bytes as stored, and {@link #openBody()} decodes them.
+ */
+public class WarcHttpResponse {
+  public static final String CONTENT_TYPE_HEADER_NAME = "Content-Type";
+
+  public static final String TRANSFER_ENCODING_HEADER_NAME = "Transfer-Encoding";
+
+  public static final String CONTENT_ENCODING_HEADER_NAME = "Content-Encoding";
+
+  /**
+   * Parses the HTTP response in the given buffer's remaining bytes. Both CRLF and bare LF line
+   * endings are accepted. Repeated headers keep their first value.
+   *
+   * @return the response, or null if the buffer does not contain a complete response header
+   */
+  public static WarcHttpResponse parse(ByteBuffer block) {
+    int start = block.position();
+    int limit = block.limit();
+
+    // Find the blank line that ends the headers
+    int end = -1;
+    int payload = -1;
+    for (int i = start; i < limit && end == -1; i++) {
+      if (block.get(i) != '\n')
+        continue;
+      if (i + 1 < limit && block.get(i + 1) == '\n') {
+        end = i;
+        payload = i + 2;
+      } else if (i + 2 < limit && block.get(i + 1) == '\r' && block.get(i + 2) == '\n') {
+        end = i;
+        payload = i + 3;
+      }
+    }
+    if (end == -1)
+      return null;
+
+    byte[] headerBytes = new byte[end - start];
+    block.duplicate().position(start).get(headerBytes);
+    String[] lines = new String(headerBytes, StandardCharsets.ISO_8859_1).split("\r?\n");
+
+    // The status line looks like "HTTP/1.1 200 OK"
+    String[] status = lines[0].split(" ", 3);
+    if (status.length < 2 || !status[0].startsWith("HTTP/"))
+      return null;
+    int statusCode;
+    try {
+      statusCode = Integer.parseInt(status[1]);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+
+    TreeMap<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    for (int i = 1; i < lines.length; i++) {
+      int colon = lines[i].indexOf(':');
+      if (colon <= 0)
+        continue;
+      headers.putIfAbsent(lines[i].substring(0, colon).strip(),
+          lines[i].substring(colon + 1).strip());
+    }
+
+    ByteBuffer body = block.duplicate();
+    body.position(payload);
+    body.limit(limit);
+
+    return new WarcHttpResponse(statusCode, headers, body.slice());
+  }
+
+  private final int statusCode;
+
+  /**
+   * The response headers, with case-insensitive names
+   */
+  private final Map<String, String> headers;
+
+  private final ByteBuffer payload;
+
+  private WarcHttpResponse(int statusCode, Map<String, String> headers, ByteBuffer payload) {
+    this.statusCode = statusCode;
+    this.headers = unmodifiableMap(headers);
+    this.payload = payload.asReadOnlyBuffer();
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * @return the headers, which can be looked up case-insensitively
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public Optional<String> getHeader(String name) {
+    return Optional.ofNullable(headers.get(name));
+  }
+
+  /**
+   * @return the charset declared by the response's {@code Content-Type} header, if any
+   */
+  public Optional<Charset> getCharset() {
+    String contentType = headers.get(CONTENT_TYPE_HEADER_NAME);
+    if (contentType == null)
+      return Optional.empty();
+    return Optional.ofNullable(CharsetSniffer.extractCharsetFromContent(contentType));
+  }
+
+  /**
+   * @return a new view of the response body as stored, i.e., before any transfer or content
+   *         encodings are removed. Changing the view's position or limit does not affect the
+   *         response.
+   * @see #isEncoded()
+   * @see #openBody()
+   */
+  public ByteBuffer getPayload() {
+    return payload.duplicate();
+  }
+
+  /**
+   * @return true if the payload has a transfer or content encoding other than {@code identity}
+   *         applied, in which case it must be decoded with {@link #openBody()} before use
+   */
+  public boolean isEncoded() {
+    return isEncoded(headers.get(TRANSFER_ENCODING_HEADER_NAME))
+        || isEncoded(headers.get(CONTENT_ENCODING_HEADER_NAME));
+  }
+
+  /**
+   * Opens a stream of the decoded response body. The {@code chunked}, {@code gzip},
+   * {@code x-gzip}, {@code deflate}, and {@code identity} encodings are supported. The body is
+   * decoded as it is read, so reading only part of it only decodes that part.
+   *
+   * @throws IOException if the response uses an unsupported encoding
+   */
+  public InputStream openBody() throws IOException {
+    InputStream result = new ByteBufferInputStream(getPayload());
+    result = decode(result, headers.get(TRANSFER_ENCODING_HEADER_NAME), true);
+    result = decode(result, headers.get(CONTENT_ENCODING_HEADER_NAME), false);
+    return result;
+  }
+
+  private static boolean isEncoded(String codings) {
+    if (codings == null)
+      return false;
+    for (String coding : codings.split(","))
+      if (!coding.isBlank() && !coding.strip().equalsIgnoreCase("identity"))
+        return true;
+    return false;
+  }
+
+  /**
+   * Removes the given codings, which are listed in the order they were applied
+   */
+  private static InputStream decode(InputStream in, String codings, boolean transfer)
+      throws IOException {
+    if (codings == null)
+      return in;
+
+    String[] names = codings.split(",");
+    for (int i = names.length - 1; i >= 0; i--) {
+      String name = names[i].strip().toLowerCase();
+      if (name.isEmpty() || name.equals("identity")) {
+        // No decoding required
+      } else if (transfer && name.equals("chunked")) {
+        in = new ChunkedInputStream(in);
+      } else if (name.equals("gzip") || name.equals("x-gzip")) {
+        in = new GZIPInputStream(in);
+      } else if (name.equals("deflate")) {
+        in = new InflaterInputStream(in);
+      } else {
+        throw new IOException("unsupported encoding: " + name);
+      }
+    }
+
+    return in;
+  }
+
+  /**
+   * Reads the remaining bytes of a buffer without copying them first
+   */
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0)
+        return 0;
+      if (!buffer.hasRemaining())
+        return -1;
+      int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public long skip(long n) {
+      int result = (int) Math.max(Math.min(n, buffer.remaining()), 0L);
+      buffer.position(buffer.position() + result);
+      return result;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "WarcHttpResponse [statusCode=" + statusCode + ", headers=" + headers + ", payload="
+        + payload + "]";
+  }
+}
@@ -0,0 +1,280 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.warc;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the records of a WARC file one at a time. Uncompressed files are memory-mapped, and each
+ * record's content block is a slice of the mapping, so record content is never copied. Compressed
+ * files are decompressed as a stream, one gzip member after another, so each record's content is
+ * copied exactly once, out of the decompressor.
+ *
+ * <p>
+ * This object is not thread-safe, but the records it returns are independent of it and of each
+ * other, so they may be processed on other threads.
+ *
+ * @see <a href="https://iipc.github.io/warc-specifications/specifications/warc-format/warc-1.1/">https://iipc.github.io/warc-specifications/specifications/warc-format/warc-1.1/</a>
+ */
+public abstract class WarcReader implements Closeable {
+  /**
+   * Opens the given WARC file. Files whose names end in {@code .gz} are decompressed as a stream.
+   * All other files are memory-mapped.
+   */
+  public static WarcReader open(Path path) throws IOException {
+    if (path.getFileName().toString().toLowerCase().endsWith(".gz"))
+      return new StreamingWarcReader(new GZIPInputStream(Files.newInputStream(path), 65536));
+    return new MappedWarcReader(FileChannel.open(path, StandardOpenOption.READ));
+  }
+
+  /**
+   * Reads WARC records from the given uncompressed stream
+   */
+  public static WarcReader of(InputStream in) {
+    return new StreamingWarcReader(in);
+  }
+
+  /**
+   * No reasonable record has a header this long, so we give up on any record that does.
+   */
+  static final int MAX_HEADER_LENGTH = 1024 * 1024;
+
+  /**
+   * @return the next record, or null if there are no more records
+   * @throws IOException if the input is not a well-formed WARC file
+   */
+  public abstract WarcRecord next() throws IOException;
+
+  /**
+   * Parses a record header, not including the blank line that ends it.
+   *
+   * @return the header fields, in order
+   */
+  static Map<String, String> parseHeader(byte[] bytes, int off, int len) throws IOException {
+    String[] lines = new String(bytes, off, len, StandardCharsets.UTF_8).split("\r?\n");
+    if (!lines[0].startsWith("WARC/"))
+      throw new IOException("Invalid WARC record version line " + lines[0]);
+
+    Map<String, String> result = new LinkedHashMap<>();
+    for (int i = 1; i < lines.length; i++) {
+      int colon = lines[i].indexOf(':');
+      if (colon <= 0)
+        throw new IOException("Invalid WARC header line " + lines[i]);
+      result.putIfAbsent(lines[i].substring(0, colon).strip(),
+          lines[i].substring(colon + 1).strip());
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the record's content length, which is required
+   */
+  static long contentLength(Map<String, String> header) throws IOException {
+    String value = null;
+    for (Map.Entry<String, String> e : header.entrySet())
+      if (e.getKey().equalsIgnoreCase("Content-Length"))
+        value = e.getValue();
+    if (value == null)
+      throw new IOException("WARC record has no Content-Length");
+    try {
+      long result = Long.parseLong(value);
+      if (result < 0)
+        throw new IOException("WARC record has negative Content-Length " + value);
+      return result;
+    } catch (NumberFormatException e) {
+      throw new IOException("WARC record has invalid Content-Length " + value);
+    }
+  }
+
+  /**
+   * Reads from a memory-mapped file. We map the file in large windows, and only remap when a record
+   * falls outside the current window, so most records cost no system calls at all.
+   */
+  static class MappedWarcReader extends WarcReader {
+    /**
+     * Mapping costs address space, not memory, so we can afford big windows.
+     */
+    private static final long WINDOW_SIZE = 256L * 1024L * 1024L;
+
+    private final FileChannel channel;
+    private final long size;
+    private ByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public MappedWarcReader(FileChannel channel) throws IOException {
+      this.channel = channel;
+      this.size = channel.size();
+    }
+
+    @Override
+    public WarcRecord next() throws IOException {
+      // Skip the blank lines that end the previous record
+      while (position < size) {
+        map(position, 1);
+        byte b = window.get((int) (position - windowStart));
+        if (b != '\r' && b != '\n')
+          break;
+        position = position + 1;
+      }
+      if (position >= size)
+        return null;
+
+      // Find the blank line that ends the header
+      map(position, (int) Math.min(MAX_HEADER_LENGTH, size - position));
+      int start = (int) (position - windowStart);
+      int limit = (int) Math.min(window.limit(), start + (long) MAX_HEADER_LENGTH);
+      int end = -1;
+      int content = -1;
+      for (int i = start; i < limit && end == -1; i++) {
+        if (window.get(i) != '\n')
+          continue;
+        if (i + 1 < limit && window.get(i + 1) == '\n') {
+          end = i;
+          content = i + 2;
+        } else if (i + 2 < limit && window.get(i + 1) == '\r' && window.get(i + 2) == '\n') {
+          end = i;
+          content = i + 3;
+        }
+      }
+      if (end == -1)
+        throw new IOException("WARC record header at offset " + position + " is incomplete");
+
+      byte[] headerBytes = new byte[end - start];
+      window.duplicate().position(start).get(headerBytes);
+      Map<String, String> header = parseHeader(headerBytes, 0, headerBytes.length);
+
+      long contentStart = windowStart + content;
+      long contentLength = contentLength(header);
+      if (contentLength > Integer.MAX_VALUE)
+        throw new IOException("WARC record at offset " + position + " is too large");
+      if (contentStart + contentLength > size)
+        throw new IOException("WARC record at offset " + position + " is truncated");
+
+      map(contentStart, (int) contentLength);
+      ByteBuffer block = window.duplicate();
+      block.position((int) (contentStart - windowStart));
+      block.limit((int) (contentStart - windowStart + contentLength));
+
+      position = contentStart + contentLength;
+
+      return new WarcRecord(header, block.slice());
+    }
+
+    /**
+     * Makes sure the current window covers the given range of the file
+     */
+    private void map(long offset, int length) throws IOException {
+      if (window != null && offset >= windowStart
+          && offset + length <= windowStart + window.limit())
+        return;
+      long mapSize = Math.min(Math.max(WINDOW_SIZE, length), size - offset);
+      window = channel.map(FileChannel.MapMode.READ_ONLY, offset, mapSize);
+      windowStart = offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+      // The mapping is released when it is garbage collected, which is after every record that
+      // refers to it is garbage collected, too.
+      window = null;
+      channel.close();
+    }
+  }
+
+  /**
+   * Reads from a stream. Java's GZIP stream reads concatenated gzip members transparently, so this
+   * handles the usual record-at-a-time compressed WARC files, too.
+   */
+  static class StreamingWarcReader extends WarcReader {
+    private final InputStream in;
+    private byte[] header;
+
+    public StreamingWarcReader(InputStream in) {
+      this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 65536);
+      this.header = new byte[1024];
+    }
+
+    @Override
+    public WarcRecord next() throws IOException {
+      // Skip the blank lines that end the previous record
+      int b;
+      do {
+        b = in.read();
+      } while (b == '\r' || b == '\n');
+      if (b == -1)
+        return null;
+
+      // Read until the blank line that ends the header
+      int length = 0;
+      int end;
+      while (true) {
+        if (length == header.length) {
+          if (length >= MAX_HEADER_LENGTH)
+            throw new IOException("WARC record header is too long");
+          header = Arrays.copyOf(header, length * 2);
+        }
+        header[length++] = (byte) b;
+        if (b == '\n') {
+          if (length >= 2 && header[length - 2] == '\n') {
+            end = length - 2;
+            break;
+          }
+          if (length >= 3 && header[length - 2] == '\r' && header[length - 3] == '\n') {
+            end = length - 3;
+            break;
+          }
+        }
+        b = in.read();
+        if (b == -1)
+          throw new IOException("WARC record header is incomplete");
+      }
+      Map<String, String> fields = parseHeader(header, 0, end);
+
+      long contentLength = contentLength(fields);
+      if (contentLength > Integer.MAX_VALUE)
+        throw new IOException("WARC record is too large");
+      byte[] content = in.readNBytes((int) contentLength);
+      if (content.length != contentLength)
+        throw new IOException("WARC record is truncated");
+
+      return new WarcRecord(fields, ByteBuffer.wrap(content));
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.warc;
+
+import static java.util.Collections.unmodifiableMap;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * One record of a WARC file. The record's content block is a read-only view of the underlying
+ * bytes, e.g., a slice of a memory-mapped file, so it is never copied.
+ *
+ * @see <a href="https://iipc.github.io/warc-specifications/specifications/warc-format/warc-1.1/">https://iipc.github.io/warc-specifications/specifications/warc-format/warc-1.1/</a>
+ */
+public class WarcRecord {
+  public static final String WARC_TYPE_HEADER_NAME = "WARC-Type";
+
+  public static final String WARC_TARGET_URI_HEADER_NAME = "WARC-Target-URI";
+
+  public static final String CONTENT_TYPE_HEADER_NAME = "Content-Type";
+
+  public static final String RESPONSE_WARC_TYPE = "response";
+
+  public static WarcRecord of(Map<String, String> headers, ByteBuffer content) {
+    return new WarcRecord(headers, content);
+  }
+
+  /**
+   * The record's named fields, with case-insensitive names
+   */
+  private final Map<String, String> headers;
+
+  /**
+   * The record's content block
+   */
+  private final ByteBuffer content;
+
+  public WarcRecord(Map<String, String> headers, ByteBuffer content) {
+    if (headers == null)
+      throw new NullPointerException();
+    if (content == null)
+      throw new NullPointerException();
+    TreeMap<String, String> hs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    hs.putAll(headers);
+    this.headers = unmodifiableMap(hs);
+    this.content = content.asReadOnlyBuffer();
+  }
+
+  /**
+   * @return the headers, which can be looked up case-insensitively
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public Optional<String> getHeader(String name) {
+    return Optional.ofNullable(headers.get(name));
+  }
+
+  /**
+   * @return the record's type, e.g., "response"
+   */
+  public Optional<String> getType() {
+    return getHeader(WARC_TYPE_HEADER_NAME);
+  }
+
+  /**
+   * @return the URI of the resource this record describes
+   */
+  public Optional<String> getTargetUri() {
+    return getHeader(WARC_TARGET_URI_HEADER_NAME);
+  }
+
+  /**
+   * @return a new view of the record's content block. Changing the view's position or limit does
+   *         not affect the record.
+   */
+  public ByteBuffer getContent() {
+    return content.duplicate();
+  }
+
+  /**
+   * Parses this record's content block as an HTTP response, if it is one. Only records of type
+   * "response" with a content type of {@code application/http} contain HTTP responses.
+   *
+   * @return the response, or empty if this record does not contain an HTTP response
+   */
+  public Optional<WarcHttpResponse> getHttpResponse() {
+    if (!RESPONSE_WARC_TYPE.equalsIgnoreCase(headers.get(WARC_TYPE_HEADER_NAME)))
+      return Optional.empty();
+
+    String contentType = headers.get(CONTENT_TYPE_HEADER_NAME);
+    if (contentType == null || !contentType.strip().toLowerCase().startsWith("application/http"))
+      return Optional.empty();
+
+    return Optional.ofNullable(WarcHttpResponse.parse(getContent()));
+  }
+
+  @Override
+  public String toString() {
+    return "WarcRecord [headers=" + headers + ", content=" + content + "]";
+  }
+}
@@ -0,0 +1,80 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.Test;
+
+public class DateTimeParserTest {
+  @Test
+  public void validTest() {
+    DateTimeParser parser = new DateTimeParser();
+    assertThat(parser.parse("2022-02-18T22:54:34-05:00"),
+        is(OffsetDateTime.of(2022, 2, 18, 22, 54, 34, 0, ZoneOffset.ofHours(-5))));
+    assertThat(parser.parse("2020-01-23T12:34:56Z"),
+        is(OffsetDateTime.of(2020, 1, 23, 12, 34, 56, 0, ZoneOffset.UTC)));
+    assertThat(parser.parse("2020-01-23T12:34:56.789+0530"), is(OffsetDateTime.of(2020, 1, 23, 12,
+        34, 56, 789000000, ZoneOffset.ofHoursMinutes(5, 30))));
+    assertThat(parser.parse("2020-01-23 12:34+01"),
+        is(OffsetDateTime.of(2020, 1, 23, 12, 34, 0, 0, ZoneOffset.ofHours(1))));
+    assertThat(parser.parse("2020-01-23T12:34:56"),
+        is(OffsetDateTime.of(2020, 1, 23, 12, 34, 56, 0, ZoneOffset.UTC)));
+    assertThat(parser.parse(" 2020-02-29 "),
+        is(OffsetDateTime.of(2020, 2, 29, 0, 0, 0, 0, ZoneOffset.UTC)));
+    assertThat(parser.parse("2020-01-23T12:34:56+01:00:00"),
+        is(OffsetDateTime.of(2020, 1, 23, 12, 34, 56, 0, ZoneOffset.ofHours(1))));
+    assertThat(parser.parse("2020-01-23T12:34:56-01:30:15"), is(OffsetDateTime.of(2020, 1, 23, 12,
+        34, 56, 0, ZoneOffset.ofHoursMinutesSeconds(-1, -30, -15))));
+    assertThat(parser.parse("2020-01-23T12:34:56+013015"), is(OffsetDateTime.of(2020, 1, 23, 12,
+        34, 56, 0, ZoneOffset.ofHoursMinutesSeconds(1, 30, 15))));
+  }
+
+  @Test
+  public void invalidTest() {
+    DateTimeParser parser = new DateTimeParser();
+    assertThat(parser.parse(""), is(nullValue()));
+    assertThat(parser.parse("xyz"), is(nullValue()));
+    assertThat(parser.parse("2020-1-23"), is(nullValue()));
+    assertThat(parser.parse("2021-02-29"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T24:00:00Z"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56."), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+19:00"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56Zjunk"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+01:"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+01:0"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+01:00:"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+01:00:60"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+0100:00"), is(nullValue()));
+    assertThat(parser.parse("2020-01-23T12:34:56+18:00:01"), is(nullValue()));
+  }
+
+  @Test
+  public void cacheTest() {
+    DateTimeParser parser = new DateTimeParser();
+    OffsetDateTime first = parser.parse("2020-01-23T12:34:56Z");
+    OffsetDateTime second = parser.parse(new String("2020-01-23T12:34:56Z"));
+    assertThat(second, sameInstance(first));
+  }
+}
@@ -0,0 +1,53 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+public class DimensionsTest {
+  @Test
+  public void validTest() {
+    assertThat(Dimensions.parse("1200"), is(1200));
+    assertThat(Dimensions.parse("0"), is(0));
+    assertThat(Dimensions.parse("+630"), is(630));
+    assertThat(Dimensions.parse("630.9"), is(630));
+    assertThat(Dimensions.parse("630."), is(630));
+    assertThat(Dimensions.parse(".5"), is(0));
+    assertThat(Dimensions.parse(" 250 "), is(250));
+    assertThat(Dimensions.parse("250px"), is(250));
+    assertThat(Dimensions.parse("250 PX "), is(250));
+    assertThat(Dimensions.parse("2147483647"), is(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void invalidTest() {
+    assertThat(Dimensions.parse(""), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("xyz"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("px"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("."), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("-1"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("12 34"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("250pt"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("2147483648"), is(Dimensions.INVALID));
+    assertThat(Dimensions.parse("99999999999999999999"), is(Dimensions.INVALID));
+  }
+}
@@ -0,0 +1,94 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.common.io.Resources;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ExtractionEventTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void eventsTest() throws IOException {
+    String good = Resources.toString(Resources.getResource("example-everything-good.html"),
+        StandardCharsets.UTF_8);
+    String none = Resources.toString(Resources.getResource("example-neverssl-com.html"),
+        StandardCharsets.UTF_8);
+
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+
+    Path file = temporaryFolder.newFile("events.jfr").toPath();
+    try (Recording recording = new Recording()) {
+      recording.enable(ParseEvent.class).withoutThreshold();
+      recording.enable(MetaScanEvent.class).withoutThreshold();
+      recording.enable(ExtractionEvent.class).withoutThreshold();
+      recording.start();
+
+      extractor.extract(good);
+      extractor.extract(new StringReader(good));
+      extractor.extract(none);
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().startsWith("com.sigpwned.opengraph4j."))
+        .collect(Collectors.toList());
+
+    List<RecordedEvent> parses = named(events, "com.sigpwned.opengraph4j.Parse");
+    assertThat(parses.size(), is(1));
+    assertThat(parses.get(0).getLong("documentSize"), is((long) good.length()));
+
+    List<RecordedEvent> scans = named(events, "com.sigpwned.opengraph4j.MetaScan");
+    assertThat(scans.size(), is(2));
+    assertThat(scans.get(0).getInt("tagCount"), is(scans.get(1).getInt("tagCount")));
+
+    List<RecordedEvent> extractions = named(events, "com.sigpwned.opengraph4j.Extraction");
+    assertThat(extractions.size(), is(3));
+    assertThat(extractions.get(0).getLong("documentSize"), is((long) good.length()));
+    assertThat(extractions.get(0).getString("resultType"), is("article"));
+    assertThat(extractions.get(1).getLong("documentSize"), is(-1L));
+    assertThat(extractions.get(1).getString("resultType"), is("article"));
+    assertThat(extractions.get(2).getInt("tagCount"), is(0));
+    assertThat(extractions.get(2).getString("resultType"), is(nullValue()));
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals(name))
+        .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+        .collect(Collectors.toList());
+  }
+}
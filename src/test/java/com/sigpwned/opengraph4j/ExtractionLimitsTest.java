@@ -0,0 +1,113 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.problem.ExtractionProblem;
+import com.sigpwned.opengraph4j.util.Types;
+
+public class ExtractionLimitsTest {
+  @Test
+  public void maxImagesTest() throws IOException {
+    StringBuilder html = new StringBuilder("<html><head>");
+    html.append("<meta property=\"og:type\" content=\"website\">");
+    for (int i = 1; i <= 5; i++) {
+      html.append("<meta property=\"og:image\" content=\"https://example.com/" + i + ".png\">");
+      html.append("<meta property=\"og:image:width\" content=\"" + i + "\">");
+    }
+    html.append("</head></html>");
+
+    List<ExtractionProblem> problems = new ArrayList<>();
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder()
+        .withLimits(ExtractionLimits.builder().withMaxImages(2).build())
+        .withProblemSink((problem, property, content) -> problems.add(problem)).build();
+
+    OpenGraphMetadata metadata = extractor.extract(new StringReader(html.toString())).get();
+
+    assertThat(metadata.getImages(),
+        is(List.of(OpenGraphImage.builder("https://example.com/1.png").withWidth(1).build(),
+            OpenGraphImage.builder("https://example.com/2.png").withWidth(2).build())));
+    assertThat(problems, is(List.of(ExtractionProblem.LIMIT_EXCEEDED,
+        ExtractionProblem.LIMIT_EXCEEDED, ExtractionProblem.LIMIT_EXCEEDED)));
+  }
+
+  @Test
+  public void maxMetaTagsTest() throws IOException {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Title\">"
+        + "<meta property=\"og:description\" content=\"Description\"></head></html>";
+
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder()
+        .withLimits(ExtractionLimits.builder().withMaxMetaTags(2).build()).build();
+
+    Optional<OpenGraphMetadata> expected = Optional
+        .of(OpenGraphMetadata.builder().withType(Types.WEBSITE).withTitle("Title").build());
+    assertThat(extractor.extract(new StringReader(html)), is(expected));
+    assertThat(extractor.extract(html), is(expected));
+  }
+
+  @Test
+  public void maxValueLengthTest() throws IOException {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Hello, world\">"
+        + "<meta property=\"og:description\" content=\"Hellos😀\"></head></html>";
+
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder()
+        .withLimits(ExtractionLimits.builder().withMaxValueLength(7).build()).build();
+
+    assertThat(extractor.extract(new StringReader(html)),
+        is(Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).withTitle("Hello, ")
+            .withDescription("Hellos").build())));
+  }
+
+  @Test
+  public void maxInputLengthTest() throws IOException {
+    String head = "<html><head><meta property=\"og:type\" content=\"website\">";
+    String html = head + "<meta property=\"og:title\" content=\"Title\"></head></html>";
+    byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder()
+        .withLimits(ExtractionLimits.builder().withMaxInputLength(head.length()).build()).build();
+
+    Optional<OpenGraphMetadata> expected =
+        Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).build());
+    assertThat(extractor.extract(html), is(expected));
+    assertThat(extractor.extract(new StringReader(html)), is(expected));
+    assertThat(extractor.extract(new ByteArrayInputStream(bytes)), is(expected));
+    assertThat(extractor.extract(ByteBuffer.wrap(bytes)), is(expected));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeTest() {
+    ExtractionLimits.builder().withMaxImages(-1);
+  }
+}
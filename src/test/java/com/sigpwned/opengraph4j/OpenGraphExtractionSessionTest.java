@@ -0,0 +1,114 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.Types;
+
+public class OpenGraphExtractionSessionTest {
+  @Test
+  public void fixturesTest() throws IOException {
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-neverssl-com.html", "example-everything-good.html",
+        "example-everything-bad.html")) {
+      byte[] html = Resources.toByteArray(Resources.getResource(resourceName));
+      Optional<OpenGraphMetadata> expected = extractor.extract(ByteBuffer.wrap(html));
+      for (int chunkSize : new int[] {1, 7, 1000, 65536}) {
+        assertThat(resourceName + " " + chunkSize, extract(extractor, html, chunkSize, null),
+            is(expected));
+      }
+    }
+  }
+
+  @Test
+  public void doneTest() throws IOException {
+    byte[] html = Resources.toByteArray(Resources.getResource("example-verge-com.html"));
+
+    OpenGraphExtractionSession session = new OpenGraphExtractor().newSession();
+    ByteBuffer buf = ByteBuffer.wrap(html);
+    boolean done = false;
+    while (!done && buf.hasRemaining()) {
+      ByteBuffer chunk = buf.slice();
+      chunk.limit(Math.min(chunk.remaining(), 512));
+      done = session.feed(chunk);
+      buf.position(buf.position() + chunk.position());
+    }
+
+    assertThat(done, is(true));
+    assertThat(session.isDone(), is(true));
+    assertThat(buf.hasRemaining(), is(true));
+    assertThat(session.finish(), is(new OpenGraphExtractor().extract(ByteBuffer.wrap(html))));
+  }
+
+  @Test
+  public void multibyteTest() {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Café ☕ 😀\"></head></html>";
+    Optional<OpenGraphMetadata> expected = Optional.of(OpenGraphMetadata.builder()
+        .withType(Types.WEBSITE).withTitle("Café ☕ 😀").build());
+
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+    assertThat(extract(extractor, html.getBytes(StandardCharsets.UTF_8), 1, null), is(expected));
+    assertThat(extract(extractor, html.getBytes(StandardCharsets.UTF_16LE), 1,
+        StandardCharsets.UTF_16LE), is(expected));
+  }
+
+  @Test
+  public void limitTest() {
+    String head = "<html><head><meta property=\"og:type\" content=\"website\">";
+    String html = head + "<meta property=\"og:title\" content=\"Title\"></head></html>";
+
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder()
+        .withLimits(ExtractionLimits.builder().withMaxInputLength(head.length()).build()).build();
+
+    OpenGraphExtractionSession session = extractor.newSession();
+    assertThat(session.feed(ByteBuffer.wrap(html.getBytes(StandardCharsets.UTF_8))), is(true));
+    assertThat(session.finish(),
+        is(Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).build())));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void finishedTest() {
+    OpenGraphExtractionSession session = new OpenGraphExtractor().newSession();
+    session.finish();
+    session.finish();
+  }
+
+  private static Optional<OpenGraphMetadata> extract(OpenGraphExtractor extractor, byte[] html,
+      int chunkSize, Charset charset) {
+    OpenGraphExtractionSession session = extractor.newSession(charset);
+    for (int i = 0; i < html.length; i = i + chunkSize) {
+      if (session.feed(ByteBuffer.wrap(html, i, Math.min(chunkSize, html.length - i))))
+        break;
+    }
+    return session.finish();
+  }
+}
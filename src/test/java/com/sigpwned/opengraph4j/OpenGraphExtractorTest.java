@@ -20,17 +20,33 @@
 package com.sigpwned.opengraph4j;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.junit.Test;
 import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.intern.BoundedStringInterner;
 import com.sigpwned.opengraph4j.model.OpenGraphAudio;
 import com.sigpwned.opengraph4j.model.OpenGraphImage;
 import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
@@ -210,4 +226,292 @@ public class OpenGraphExtractorTest {
         "nyan_cat", // profileUsername
         "male"))); // profileGender
   }
+
+  @Test
+  public void streamingTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-neverssl-com.html", "example-everything-good.html",
+        "example-everything-bad.html")) {
+      String html = Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8);
+      assertThat(resourceName, OpenGraph.extract(new StringReader(html)),
+          is(OpenGraph.extract(html)));
+    }
+  }
+
+  @Test
+  public void streamingHeadOnlyTest() throws IOException {
+    String html = "<!DOCTYPE html><html><head>" //
+        + "<!-- <meta property=\"og:title\" content=\"Comment\"> -->" //
+        + "<script>document.write('<meta property=\"og:title\" content=\"Script\">');</script>" //
+        + "<meta property=\"og:type\" content=\"website\">" //
+        + "<noscript><meta property=\"og:title\" content=\"Noscript\"></noscript>" //
+        + "<meta property=\"og:title\" content=\"Fish &amp; Chips\">" //
+        + "</head>" //
+        + "<meta property=\"og:site_name\" content=\"After Head\">" //
+        + "<body><meta property=\"og:description\" content=\"Body\"></body></html>";
+
+    Optional<OpenGraphMetadata> extracted = OpenGraph.extract(new StringReader(html));
+
+    assertThat(extracted, is(Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE)
+        .withTitle("Fish & Chips").withSiteName("After Head").build())));
+    assertThat(extracted, is(OpenGraph.extract(html)));
+  }
+
+  @Test
+  public void bytesTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-neverssl-com.html", "example-everything-good.html",
+        "example-everything-bad.html")) {
+      byte[] html = Resources.toByteArray(Resources.getResource(resourceName));
+      assertThat(resourceName, OpenGraph.extract(new ByteArrayInputStream(html)),
+          is(OpenGraph.extract(new String(html, StandardCharsets.UTF_8))));
+    }
+  }
+
+  @Test
+  public void bytesCharsetTest() throws IOException {
+    OpenGraphMetadata expected = OpenGraphMetadata.builder().withType(Types.WEBSITE)
+        .withTitle("Caf\u00E9 \u00FCber Stra\u00DFe").build();
+
+    String metaCharset = "<html><head><meta charset=\"iso-8859-1\">"
+        + "<meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Caf\u00E9 \u00FCber Stra\u00DFe\"></head></html>";
+    assertThat(OpenGraph.extract(
+        new ByteArrayInputStream(metaCharset.getBytes(StandardCharsets.ISO_8859_1))),
+        is(Optional.of(expected)));
+
+    String httpEquiv = "<html><head><!-- <meta charset=\"utf-8\"> -->"
+        + "<meta http-equiv=\"Content-Type\" content=\"text/html; charset=ISO-8859-1\">"
+        + "<meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Caf\u00E9 \u00FCber Stra\u00DFe\"></head></html>";
+    assertThat(OpenGraph.extract(
+        new ByteArrayInputStream(httpEquiv.getBytes(StandardCharsets.ISO_8859_1))),
+        is(Optional.of(expected)));
+
+    String bom = "<html><head><meta charset=\"iso-8859-1\">"
+        + "<meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Caf\u00E9 \u00FCber Stra\u00DFe\"></head></html>";
+    assertThat(OpenGraph.extract(new ByteArrayInputStream(bom.getBytes(StandardCharsets.UTF_16))),
+        is(Optional.of(expected)));
+  }
+
+  @Test
+  public void byteBufferTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-everything-good.html", "example-everything-bad.html")) {
+      byte[] bytes = Resources.toByteArray(Resources.getResource(resourceName));
+      Optional<OpenGraphMetadata> expected =
+          OpenGraph.extract(new String(bytes, StandardCharsets.UTF_8));
+
+      ByteBuffer heap = ByteBuffer.wrap(bytes);
+      assertThat(OpenGraph.extract(heap), is(expected));
+      assertThat(heap.position(), is(0));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes).flip();
+      assertThat(OpenGraph.extract(direct), is(expected));
+    }
+  }
+
+  @Test
+  public void byteBufferCharsetTest() {
+    OpenGraphMetadata expected = OpenGraphMetadata.builder().withType(Types.WEBSITE)
+        .withTitle("Caf\u00E9 \u00FCber Stra\u00DFe").build();
+
+    // The transport charset overrides the meta charset
+    String html = "<html><head><meta charset=\"utf-8\">"
+        + "<meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Caf\u00E9 \u00FCber Stra\u00DFe\"></head></html>";
+    assertThat(new OpenGraphExtractor().extract(
+        ByteBuffer.wrap(html.getBytes(StandardCharsets.ISO_8859_1)), StandardCharsets.ISO_8859_1),
+        is(Optional.of(expected)));
+  }
+
+  @Test
+  public void sharedExtractorTest() throws Exception {
+    List<String> htmls = new ArrayList<>();
+    for (String resourceName : List.of("example-verge-com.html", "example-everything-good.html",
+        "example-everything-bad.html"))
+      htmls.add(Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8));
+
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+
+    List<Optional<OpenGraphMetadata>> expected = new ArrayList<>();
+    for (String html : htmls)
+      expected.add(extractor.extract(new StringReader(html)));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        final int index = i % htmls.size();
+        tasks.add(() -> extractor.extract(new StringReader(htmls.get(index)))
+            .equals(expected.get(index)));
+      }
+      for (Future<Boolean> result : executor.invokeAll(tasks))
+        assertThat(result.get(), is(true));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void metaTagSourceTest() throws IOException {
+    OpenGraphMetadata extracted = new OpenGraphExtractor().extract(handler -> {
+      handler.meta("og:type", "website");
+      handler.meta(new StringBuilder("og:title"), new StringBuilder("Hello"));
+      handler.meta("description", "Ignored");
+    }).get();
+
+    assertThat(extracted,
+        is(OpenGraphMetadata.builder().withType(Types.WEBSITE).withTitle("Hello").build()));
+  }
+
+  @Test
+  public void documentUnchangedTest() {
+    Document empty = new Document("");
+    assertThat(OpenGraph.extract(empty), is(Optional.empty()));
+    assertThat(empty.childNodeSize(), is(0));
+
+    Document headless = Jsoup.parse("<html><body>Hello</body></html>");
+    headless.head().remove();
+    String before = headless.outerHtml();
+    assertThat(OpenGraph.extract(headless), is(Optional.empty()));
+    assertThat(headless.outerHtml(), is(before));
+  }
+
+  @Test
+  public void reuseTest() throws IOException {
+    String good = Resources.toString(Resources.getResource("example-everything-good.html"),
+        StandardCharsets.UTF_8);
+    String html = "<html><head><meta property=\"og:type\" content=\"website\"></head></html>";
+
+    // The same extractor on the same thread reuses its context, so nothing may leak across.
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+    Optional<OpenGraphMetadata> expected = extractor.extract(new StringReader(good));
+    for (int i = 0; i < 3; i++) {
+      assertThat(extractor.extract(new StringReader(good)), is(expected));
+      assertThat(extractor.extract(ByteBuffer.wrap(good.getBytes(StandardCharsets.UTF_8))),
+          is(expected));
+      assertThat(extractor.extract(new StringReader(html)),
+          is(Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).build())));
+    }
+  }
+
+  @Test
+  public void threadPerTaskReuseTest() throws Exception {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\"></head></html>";
+    Optional<OpenGraphMetadata> expected =
+        Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).build());
+
+    // Like the default async executor, this runs every extraction on a brand new thread.
+    Executor executor = task -> new Thread(task).start();
+    OpenGraphExtractor extractor = new OpenGraphExtractor();
+    ByteBuffer bytes = ByteBuffer.wrap(html.getBytes(StandardCharsets.UTF_8));
+    for (int i = 0; i < 8; i++) {
+      assertThat(CompletableFuture.supplyAsync(() -> extractor.extract(html), executor).get(),
+          is(expected));
+      assertThat(CompletableFuture.supplyAsync(() -> extractor.extract(bytes), executor).get(),
+          is(expected));
+    }
+
+    // Every extraction returned the same context to the pool, so only one was ever created.
+    assertThat(extractor.getIdleContextCount(), is(1));
+
+    List<CompletableFuture<Optional<OpenGraphMetadata>>> futures = new ArrayList<>();
+    for (int i = 0; i < 64; i++)
+      futures.add(CompletableFuture.supplyAsync(() -> extractor.extract(html), executor));
+    for (CompletableFuture<Optional<OpenGraphMetadata>> future : futures)
+      assertThat(future.get(), is(expected));
+    // The pool stays bounded no matter how many threads extracted at once.
+    assertThat(extractor.getIdleContextCount() <= Math.max(4,
+        2 * Runtime.getRuntime().availableProcessors()), is(true));
+  }
+
+  @Test
+  public void reentrantTest() throws IOException {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"unrecognized\" content=\"x\">"
+        + "<meta property=\"og:title\" content=\"Outer\"></head></html>";
+    String inner = "<html><head><meta property=\"og:type\" content=\"article\">"
+        + "<meta property=\"og:description\" content=\"Inner\"></head></html>";
+
+    List<Optional<OpenGraphMetadata>> inners = new ArrayList<>();
+    OpenGraphExtractor[] extractor = new OpenGraphExtractor[1];
+    extractor[0] = OpenGraphExtractor.builder().withProblemSink((problem, property, content) -> {
+      // Extracting from inside an extraction must not disturb the outer extraction.
+      if (inners.isEmpty())
+        inners.add(extractor[0].extract(inner));
+    }).build();
+
+    assertThat(extractor[0].extract(new StringReader(html)),
+        is(Optional.of(OpenGraphMetadata.builder().withType(Types.WEBSITE).withTitle("Outer")
+            .build())));
+    assertThat(inners, is(List.of(Optional.of(OpenGraphMetadata.builder()
+        .withType(Types.ARTICLE).withDescription("Inner").build()))));
+  }
+
+  @Test
+  public void internerTest() throws IOException {
+    String html = "<html><head><meta property=\"og:type\" content=\"article\">"
+        + "<meta property=\"og:site_name\" content=\"The Verge\">"
+        + "<meta property=\"og:title\" content=\"Hello\"></head></html>";
+
+    OpenGraphExtractor extractor =
+        OpenGraphExtractor.builder().withInterner(new BoundedStringInterner()).build();
+
+    OpenGraphMetadata first = extractor.extract(new StringReader(html)).get();
+    OpenGraphMetadata second = extractor.extract(new StringReader(html)).get();
+
+    assertThat(second, is(first));
+    assertThat(second.getType(), sameInstance(first.getType()));
+    assertThat(second.getSiteName(), sameInstance(first.getSiteName()));
+  }
+
+  @Test
+  public void propertyCaseTest() throws IOException {
+    String html = "<html><head>" //
+        + "<meta property=\"OG:Type\" content=\"website\">" //
+        + "<meta property=\" og:TITLE \" content=\"Title\">" //
+        + "<meta property=\"og:titles\" content=\"Titles\">" //
+        + "</head></html>";
+
+    OpenGraphMetadata expected =
+        OpenGraphMetadata.builder().withType(Types.WEBSITE).withTitle("Title").build();
+
+    assertThat(OpenGraph.extract(html), is(Optional.of(expected)));
+    assertThat(OpenGraph.extract(new StringReader(html)), is(Optional.of(expected)));
+  }
+
+  @Test
+  public void extractAllTest() throws IOException {
+    List<String> htmls = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      for (String resourceName : List.of("example-verge-com.html", "example-neverssl-com.html",
+          "example-everything-good.html", "example-everything-bad.html"))
+        htmls.add(Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8));
+
+    List<Optional<OpenGraphMetadata>> expected = new ArrayList<>();
+    for (String html : htmls)
+      expected.add(OpenGraph.extract(html));
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertThat(OpenGraph.extractAll(htmls, pool), is(expected));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void extractAsyncTest() throws Exception {
+    String html = Resources.toString(Resources.getResource("example-everything-good.html"),
+        StandardCharsets.UTF_8);
+
+    assertThat(OpenGraph.extractAsync(html).get(), is(OpenGraph.extract(html)));
+    assertThat(
+        OpenGraph.extractAsync(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)))
+            .get(),
+        is(OpenGraph.extract(html)));
+  }
 }
@@ -0,0 +1,154 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+public class LruExtractionCacheTest {
+  private static Optional<OpenGraphMetadata> metadata(String title) {
+    return Optional.of(OpenGraphMetadata.builder().withType("website").withTitle(title).build());
+  }
+
+  @Test
+  public void hashTest() {
+    assertThat(ContentHash.of("hello"), is(ContentHash.of("hello")));
+    assertThat(ContentHash.of("hello"), is(not(ContentHash.of("hellp"))));
+    assertThat(ContentHash.of(""), is(ContentHash.of("")));
+  }
+
+  @Test
+  public void hitTest() {
+    LruExtractionCache cache = new LruExtractionCache(16);
+    AtomicInteger extractions = new AtomicInteger();
+
+    Optional<OpenGraphMetadata> first = cache.get(ContentHash.of("a"), () -> {
+      extractions.incrementAndGet();
+      return metadata("a");
+    });
+    Optional<OpenGraphMetadata> second = cache.get(ContentHash.of("a"), () -> {
+      extractions.incrementAndGet();
+      return metadata("a");
+    });
+
+    assertThat(extractions.get(), is(1));
+    assertThat(second, is(first));
+    assertThat(cache.stats().getHitCount(), is(1L));
+    assertThat(cache.stats().getMissCount(), is(1L));
+  }
+
+  @Test
+  public void sizeEvictionTest() {
+    LruExtractionCache cache = new LruExtractionCache(2);
+    cache.get(ContentHash.of("a"), () -> metadata("a"));
+    cache.get(ContentHash.of("b"), () -> metadata("b"));
+    cache.get(ContentHash.of("a"), () -> metadata("a"));
+    cache.get(ContentHash.of("c"), () -> metadata("c"));
+
+    // b is the least recently used, so it goes first
+    assertThat(cache.stats().getSize(), is(2L));
+    assertThat(cache.stats().getEvictionCount(), is(1L));
+    cache.get(ContentHash.of("a"), () -> metadata("x"));
+    assertThat(cache.stats().getHitCount(), is(2L));
+    assertThat(cache.get(ContentHash.of("b"), () -> metadata("y")), is(metadata("y")));
+  }
+
+  @Test
+  public void weightEvictionTest() {
+    LruExtractionCache cache = new LruExtractionCache(100, 10L, m -> 4L);
+    cache.get(ContentHash.of("a"), () -> metadata("a"));
+    cache.get(ContentHash.of("b"), () -> metadata("b"));
+    cache.get(ContentHash.of("c"), () -> metadata("c"));
+    cache.get(ContentHash.of("d"), Optional::empty);
+
+    assertThat(cache.stats().getSize(), is(3L));
+    assertThat(cache.stats().getWeight(), is(8L));
+  }
+
+  @Test
+  public void estimateWeightTest() {
+    OpenGraphMetadata website = OpenGraphMetadata.builder().withType("website").build();
+    OpenGraphMetadata article = website.toBuilder().withArticleSection("News").build();
+    OpenGraphMetadata book = website.toBuilder().withBookIsbn("News").build();
+    OpenGraphMetadata both = article.toBuilder().withBookIsbn("News").build();
+
+    long websiteWeight = LruExtractionCache.estimateWeight(website);
+    long articleWeight = LruExtractionCache.estimateWeight(article);
+    long bookWeight = LruExtractionCache.estimateWeight(book);
+    long bothWeight = LruExtractionCache.estimateWeight(both);
+
+    // Each vertical costs its own object plus its properties
+    assertThat(articleWeight > websiteWeight, is(true));
+    assertThat(bookWeight > websiteWeight, is(true));
+    assertThat(bookWeight < articleWeight, is(true));
+    assertThat(bothWeight - websiteWeight,
+        is((articleWeight - websiteWeight) + (bookWeight - websiteWeight)));
+
+    // Longer strings weigh more
+    long shortWeight =
+        LruExtractionCache.estimateWeight(website.toBuilder().withTitle("a").build());
+    long longWeight =
+        LruExtractionCache.estimateWeight(website.toBuilder().withTitle("abc").build());
+    assertThat(shortWeight < longWeight, is(true));
+  }
+
+  @Test
+  public void openGraphTest() {
+    String html = "<html><head><meta property=\"og:type\" content=\"website\"></head></html>";
+    LruExtractionCache cache = new LruExtractionCache(16);
+    Optional<OpenGraphMetadata> first = OpenGraph.extract(html, cache);
+    Optional<OpenGraphMetadata> second = OpenGraph.extract(html, cache);
+    assertThat(first.isPresent(), is(true));
+    assertThat(second, is(first));
+    assertThat(cache.stats().getHitCount(), is(1L));
+  }
+
+  @Test
+  public void openGraphBytesTest() {
+    byte[] html = "<html><head><meta property=\"og:type\" content=\"website\"></head></html>"
+        .getBytes(StandardCharsets.UTF_8);
+    LruExtractionCache cache = new LruExtractionCache(16);
+
+    Optional<OpenGraphMetadata> first = OpenGraph.extract(html, cache);
+    assertThat(first.isPresent(), is(true));
+    assertThat(cache.stats().getMissCount(), is(1L));
+
+    // A different buffer with the same bytes is a hit, and the buffer's position is untouched
+    ByteBuffer buffer = ByteBuffer.wrap(html.clone());
+    assertThat(OpenGraph.extract(buffer, cache), is(first));
+    assertThat(buffer.position(), is(0));
+    assertThat(cache.stats().getHitCount(), is(1L));
+
+    // The same bytes with a declared charset are a different key
+    assertThat(OpenGraph.extract(buffer, StandardCharsets.UTF_8, cache), is(first));
+    assertThat(cache.stats().getMissCount(), is(2L));
+    assertThat(OpenGraph.extract(buffer, StandardCharsets.UTF_8, cache), is(first));
+    assertThat(cache.stats().getHitCount(), is(2L));
+    assertThat(ContentHash.of(ByteBuffer.wrap(html), null), is(ContentHash.of(html)));
+  }
+}
@@ -0,0 +1,105 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.codec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+public class OpenGraphBinaryCodecTest {
+  private static List<OpenGraphMetadata> fixtures() throws IOException {
+    List<OpenGraphMetadata> result = new ArrayList<>();
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-everything-good.html", "example-everything-bad.html"))
+      result.add(OpenGraph
+          .extract(Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8))
+          .get());
+    return result;
+  }
+
+  @Test
+  public void roundTripTest() throws IOException {
+    List<OpenGraphMetadata> batch = fixtures();
+    ByteBuffer encoded = OpenGraphBinaryCodec.encode(batch);
+    assertThat(encoded.remaining(), is(OpenGraphBinaryCodec.encodedSize(batch)));
+    assertThat(OpenGraphBinaryCodec.decode(encoded), is(batch));
+    assertThat(encoded.hasRemaining(), is(false));
+  }
+
+  @Test
+  public void directBufferTest() throws IOException {
+    List<OpenGraphMetadata> batch = fixtures();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(OpenGraphBinaryCodec.encodedSize(batch) + 10);
+    buffer.position(10);
+    OpenGraphBinaryCodec.encode(batch, buffer);
+    buffer.flip().position(10);
+    assertThat(OpenGraphBinaryCodec.decode(buffer), is(batch));
+  }
+
+  @Test
+  public void dictionaryTest() throws IOException {
+    OpenGraphMetadata metadata = fixtures().get(0);
+    int one = OpenGraphBinaryCodec.encodedSize(List.of(metadata));
+    int ten = OpenGraphBinaryCodec.encodedSize(Collections.nCopies(10, metadata));
+    // The strings are shared, so each additional copy only costs its references
+    assertThat(ten < 2 * one, is(true));
+  }
+
+  @Test
+  public void edgeCaseTest() {
+    OpenGraphMetadata metadata = OpenGraphMetadata.builder().withType("article")
+        .withTitle("😀 café 中")
+        .withArticleTags(Arrays.asList("a", null, "a"))
+        .withArticlePublishedTime(OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 123456789,
+            ZoneOffset.ofHoursMinutes(-9, -30)))
+        .withBookReleaseDate(OffsetDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)).build();
+    assertThat(OpenGraphBinaryCodec.decode(OpenGraphBinaryCodec.encode(List.of(metadata))),
+        is(List.of(metadata)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badMagicTest() {
+    OpenGraphBinaryCodec.decode(ByteBuffer.wrap(new byte[] {'X', 'G', 'B', 1, 0, 0}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badVersionTest() {
+    OpenGraphBinaryCodec.decode(ByteBuffer.wrap(new byte[] {'O', 'G', 'B', 99, 0, 0}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void truncatedTest() throws IOException {
+    ByteBuffer encoded = OpenGraphBinaryCodec.encode(fixtures());
+    encoded.limit(encoded.limit() / 2);
+    OpenGraphBinaryCodec.decode(encoded);
+  }
+}
@@ -0,0 +1,83 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.junit.Test;
+import com.google.common.io.Resources;
+
+public class HeadMetaTokenizerTest {
+  @Test
+  public void jsoupTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-neverssl-com.html", "example-everything-good.html",
+        "example-everything-bad.html")) {
+      String html = Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8);
+      assertThat(resourceName, tags(MetaTagSource.of(html)),
+          is(tags(new JsoupMetaTagSource(Jsoup.parse(html)))));
+    }
+  }
+
+  @Test
+  public void chunkingTest() throws IOException {
+    String html = Resources.toString(Resources.getResource("example-verge-com.html"),
+        StandardCharsets.UTF_8);
+    List<String> expected = tags(MetaTagSource.of(html));
+
+    // Every chunk size splits comments, scripts, and attribute values in different places.
+    char[] chars = html.toCharArray();
+    for (int chunkSize : new int[] {1, 2, 3, 7, 64, 1000}) {
+      List<String> tags = new ArrayList<>();
+      HeadMetaTokenizer tokenizer = new HeadMetaTokenizer(
+          (property, content) -> tags.add(property + "=" + content));
+      for (int i = 0; i < chars.length && !tokenizer.isDone(); i = i + chunkSize)
+        tokenizer.tokenize(chars, i, Math.min(chunkSize, chars.length - i));
+      tokenizer.finish();
+      assertThat("chunkSize=" + chunkSize, tags, is(expected));
+    }
+  }
+
+  @Test
+  public void skipTest() throws IOException {
+    String html = "<html><head>" //
+        + "<!-- - -> <meta property=\"og:title\" content=\"Comment\"> --->" //
+        + "<?xml-stylesheet href=\"style.xsl\" <meta property=\"og:title\" ?>" //
+        + "<script>if (a<b) document.write('<meta property=\"og:title\" content=\"Script\">');"
+        + "</scriptx></script >" //
+        + "<link rel=\"stylesheet\" href=\"a>b.css\">" //
+        + "<meta content='Title' property='og:title' property='og:url'>" //
+        + "<meta property=\"og:description\" content=\"A &lt; B\"></head></html>";
+
+    assertThat(tags(MetaTagSource.of(html)),
+        is(List.of("og:title=Title", "og:description=A < B")));
+  }
+
+  private static List<String> tags(MetaTagSource source) throws IOException {
+    List<String> result = new ArrayList<>();
+    source.emit((property, content) -> result.add(property + "=" + content));
+    return result;
+  }
+}
@@ -0,0 +1,88 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.html;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+public class OpenGraphPrescannerTest {
+  @Test
+  public void fixturesTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-everything-good.html", "example-everything-bad.html")) {
+      String html = Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8);
+      assertThat(resourceName, OpenGraphPrescanner.mayHaveType(html), is(true));
+      assertThat(resourceName, OpenGraphPrescanner.mayHaveType(new StringBuilder(html)),
+          is(true));
+    }
+
+    String neverssl = Resources.toString(Resources.getResource("example-neverssl-com.html"),
+        StandardCharsets.UTF_8);
+    assertThat(OpenGraphPrescanner.mayHaveType(neverssl), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType(new StringBuilder(neverssl)), is(false));
+  }
+
+  @Test
+  public void caseTest() {
+    String html = "<html><head><meta property=\"OG:Type\" content=\"website\"></head></html>";
+    assertThat(OpenGraphPrescanner.mayHaveType(html), is(true));
+    assertThat(OpenGraph.extract(html).isPresent(), is(true));
+  }
+
+  @Test
+  public void characterReferenceTest() {
+    for (String property : List.of("og&#58;type", "og:&#116;ype", "&#111;g:type", "o&#103;:type",
+        "og:typ&#101;", "og:t&#x79;pe", "&#111;&#103;&#58;&#116;&#121;&#112;&#101;",
+        "o&#103&#58type")) {
+      String html = "<html><head><meta property=\"" + property
+          + "\" content=\"website\"></head></html>";
+      assertThat(property, OpenGraphPrescanner.mayHaveType(html), is(true));
+      assertThat(property, OpenGraphPrescanner.mayHaveType(new StringBuilder(html)), is(true));
+      assertThat(property, OpenGraph.extract(html).isPresent(), is(true));
+    }
+  }
+
+  @Test
+  public void absentTest() {
+    String html = "<html><head><meta property=\"og:title\" content=\"Hello\">"
+        + "<a href=\"/docs:typescript?a=1&b=2\">og</a></head></html>";
+    assertThat(OpenGraphPrescanner.mayHaveType(html), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType(new StringBuilder(html)), is(false));
+    assertThat(OpenGraph.extract(html), is(Optional.empty()));
+  }
+
+  @Test
+  public void edgeTest() {
+    assertThat(OpenGraphPrescanner.mayHaveType(""), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType(":"), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType("og:typ"), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType("og:type"), is(true));
+    assertThat(OpenGraphPrescanner.mayHaveType("&"), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType(";:type"), is(false));
+    assertThat(OpenGraphPrescanner.mayHaveType("&;:type"), is(false));
+  }
+}
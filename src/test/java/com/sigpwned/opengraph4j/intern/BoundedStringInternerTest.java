@@ -0,0 +1,57 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+public class BoundedStringInternerTest {
+  @Test
+  public void internTest() {
+    BoundedStringInterner interner = new BoundedStringInterner(16, 64);
+    String first = interner.intern(new StringBuilder("en_US"));
+    String second = interner.intern(new StringBuilder("en_US"));
+    assertThat(first, is("en_US"));
+    assertThat(second, sameInstance(first));
+    assertThat(interner.intern("en_US"), sameInstance(first));
+  }
+
+  @Test
+  public void maximumLengthTest() {
+    BoundedStringInterner interner = new BoundedStringInterner(16, 4);
+    String first = interner.intern(new StringBuilder("image/png"));
+    String second = interner.intern(new StringBuilder("image/png"));
+    assertThat(second, is(first));
+    assertThat(second, not(sameInstance(first)));
+  }
+
+  @Test
+  public void collisionTest() {
+    // With one slot, every string collides, and the most recent one wins.
+    BoundedStringInterner interner = new BoundedStringInterner(1, 64);
+    String a = interner.intern(new StringBuilder("a"));
+    String b = interner.intern(new StringBuilder("b"));
+    assertThat(interner.intern(new StringBuilder("b")), sameInstance(b));
+    assertThat(interner.intern(new StringBuilder("a")), not(sameInstance(a)));
+  }
+}
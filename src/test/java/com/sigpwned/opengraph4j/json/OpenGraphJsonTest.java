@@ -0,0 +1,114 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.json;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.model.OpenGraphImage;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+public class OpenGraphJsonTest {
+  @Test
+  public void roundTripTest() throws IOException {
+    for (String resourceName : List.of("example-verge-com.html", "example-imdb-com.html",
+        "example-everything-good.html", "example-everything-bad.html")) {
+      OpenGraphMetadata metadata = OpenGraph
+          .extract(Resources.toString(Resources.getResource(resourceName), StandardCharsets.UTF_8))
+          .get();
+      assertThat(OpenGraphJsonReader.fromJson(OpenGraphJsonWriter.toJson(metadata)), is(metadata));
+    }
+  }
+
+  @Test
+  public void writeTest() {
+    OpenGraphMetadata metadata = OpenGraphMetadata.builder().withType("article")
+        .withTitle("\"Quoted\"\n ")
+        .withImages(List.of(OpenGraphImage.builder("https://example.com/a.png").withWidth(640)
+            .withHeight(0).build()))
+        .withArticlePublishedTime(
+            OffsetDateTime.of(2022, 1, 2, 3, 4, 0, 500000000, ZoneOffset.ofHours(-5)))
+        .withBookReleaseDate(OffsetDateTime.of(2022, 1, 2, 0, 0, 0, 0, ZoneOffset.UTC)).build();
+    assertThat(OpenGraphJsonWriter.toJson(metadata),
+        is("{\"type\":\"article\",\"title\":\"\\\"Quoted\\\"\\n\\u2028\","
+            + "\"images\":[{\"url\":\"https://example.com/a.png\",\"width\":640,\"height\":0}],"
+            + "\"articlePublishedTime\":\"2022-01-02T03:04:00.500-05:00\","
+            + "\"bookReleaseDate\":\"2022-01-02T00:00:00Z\"}"));
+  }
+
+  @Test
+  public void outputStreamTest() throws IOException {
+    OpenGraphMetadata metadata =
+        OpenGraphMetadata.builder().withType("website").withTitle("Café").build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    OpenGraphJsonWriter.write(metadata, out);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8),
+        is("{\"type\":\"website\",\"title\":\"Café\"}"));
+  }
+
+  @Test
+  public void readLenientTest() throws IOException {
+    OpenGraphMetadata metadata = OpenGraphJsonReader.fromJson(" { \"type\" : \"website\", "
+        + "\"unknown\": {\"a\": [1, 2.5e3, true, null, \"x\"]}, \"title\": null, "
+        + "\"siteName\": \"\\u0041\\/B\", \"images\": [] } ");
+    assertThat(metadata,
+        is(OpenGraphMetadata.builder().withType("website").withSiteName("A/B").build()));
+  }
+
+  @Test
+  public void readManyTest() throws IOException {
+    OpenGraphJsonReader reader =
+        new OpenGraphJsonReader(new StringReader("{\"type\":\"a\"}\n{\"type\":\"b\"}\n"));
+    assertThat(reader.hasNext(), is(true));
+    assertThat(reader.readMetadata().getType(), is("a"));
+    assertThat(reader.hasNext(), is(true));
+    assertThat(reader.readMetadata().getType(), is("b"));
+    assertThat(reader.hasNext(), is(false));
+  }
+
+  @Test(expected = OpenGraphJsonException.class)
+  public void missingUrlTest() throws IOException {
+    OpenGraphJsonReader.fromJson("{\"images\":[{\"width\":1}]}");
+  }
+
+  @Test(expected = OpenGraphJsonException.class)
+  public void negativeDimensionTest() throws IOException {
+    OpenGraphJsonReader.fromJson("{\"images\":[{\"url\":\"x\",\"width\":-1}]}");
+  }
+
+  @Test(expected = OpenGraphJsonException.class)
+  public void truncatedTest() throws IOException {
+    OpenGraphJsonReader.fromJson("{\"type\":\"web");
+  }
+
+  @Test(expected = OpenGraphJsonException.class)
+  public void trailingTest() throws IOException {
+    OpenGraphJsonReader.fromJson("{\"type\":\"website\"} x");
+  }
+}
@@ -0,0 +1,87 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.OpenGraphExtractor;
+
+public class ExtractionStatisticsTest {
+  @Test
+  public void everythingBadTest() throws IOException {
+    String html = Resources.toString(Resources.getResource("example-everything-bad.html"),
+        StandardCharsets.UTF_8);
+
+    List<ExtractionMetrics> metrics = new ArrayList<>();
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder().withListener(
+        new ExtractionListener() {
+          @Override
+          public void extracted(ExtractionMetrics m) {
+            metrics.add(m);
+          }
+        }).build();
+
+    extractor.extract(html);
+    extractor.extract(new StringReader(html));
+
+    assertThat(metrics.size(), is(2));
+    for (ExtractionMetrics m : metrics) {
+      assertThat(m.toString(), m.getTagCount(), is(58));
+      assertThat(m.toString(), m.getUnrecognizedTagCount(), is(1));
+      assertThat(m.toString(), m.getInvalidDimensionCount(), is(4));
+      assertThat(m.toString(), m.getInvalidDateCount(), is(4));
+      assertThat(m.toString(), m.isFound(), is(true));
+    }
+  }
+
+  @Test
+  public void statisticsTest() throws IOException {
+    String good = Resources.toString(Resources.getResource("example-everything-good.html"),
+        StandardCharsets.UTF_8);
+    String none = Resources.toString(Resources.getResource("example-neverssl-com.html"),
+        StandardCharsets.UTF_8);
+
+    ExtractionStatistics statistics = new ExtractionStatistics();
+    OpenGraphExtractor extractor = OpenGraphExtractor.builder().withListener(statistics).build();
+
+    extractor.extract(good);
+    extractor.extract(new StringReader(good));
+    extractor.extract(none);
+
+    assertThat(statistics.getParseCount(), is(1L));
+    assertThat(statistics.getExtractionCount(), is(3L));
+    assertThat(statistics.getFoundCount(), is(2L));
+    assertThat(statistics.getInvalidDimensionCount(), is(0L));
+    assertThat(statistics.getInvalidDateCount(), is(0L));
+    assertThat(statistics.getExtractionNanos() >= statistics.getMaxExtractionNanos(), is(true));
+
+    statistics.reset();
+
+    assertThat(statistics.getExtractionCount(), is(0L));
+    assertThat(statistics.getTagCount(), is(0L));
+  }
+}
@@ -0,0 +1,70 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.util.OptionalInt;
+import org.junit.Test;
+
+public class OpenGraphImageTest {
+  @Test
+  public void dimensionsTest() {
+    OpenGraphImage image =
+        OpenGraphImage.builder("https://example.com/a.png").withWidth(640).build();
+    assertThat(image.hasWidth(), is(true));
+    assertThat(image.widthOrDefault(0), is(640));
+    assertThat(image.getWidth(), is(OptionalInt.of(640)));
+    assertThat(image.hasHeight(), is(false));
+    assertThat(image.heightOrDefault(0), is(0));
+    assertThat(image.getHeight(), is(OptionalInt.empty()));
+  }
+
+  @Test
+  public void zeroTest() {
+    OpenGraphImage image =
+        OpenGraphImage.of("https://example.com/a.png", null, null, 0, null, null);
+    assertThat(image.hasWidth(), is(true));
+    assertThat(image.widthOrDefault(-1), is(0));
+  }
+
+  @Test
+  public void equalsTest() {
+    OpenGraphImage a = OpenGraphImage.of("https://example.com/a.png", null, null, 640, 480, null);
+    OpenGraphImage b = OpenGraphImage.builder("https://example.com/a.png").withWidth(640)
+        .withHeight(Integer.valueOf(480)).build();
+    assertThat(a, is(b));
+    assertThat(a.hashCode(), is(b.hashCode()));
+    assertThat(a, is(not(b.toBuilder().withHeight(null).build())));
+    assertThat(a.toString(), is("Image [url=https://example.com/a.png, secureUrl=null, type=null, "
+        + "width=640, height=480, alt=null]"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeConstructorTest() {
+    OpenGraphImage.of("https://example.com/a.png", null, null, -1, null, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeBuilderTest() {
+    OpenGraphImage.builder("https://example.com/a.png").withHeight(-1);
+  }
+}
@@ -0,0 +1,83 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.Test;
+
+public class OpenGraphMetadataTest {
+  @Test
+  public void emptyListsTest() {
+    OpenGraphMetadata a = OpenGraphMetadata.builder().withType("website").build();
+    OpenGraphMetadata b = OpenGraphMetadata.builder().withType("article").build();
+    assertThat(a.getImages().isEmpty(), is(true));
+    assertThat(a.getArticleTags(), sameInstance(b.getBookAuthors()));
+  }
+
+  @Test
+  public void clearTest() {
+    OpenGraphMetadata.Builder builder = OpenGraphMetadata.builder().withType("article")
+        .withTitle("Title").withArticleTags(List.of("a"));
+    builder.getImages().add(OpenGraphImage.builder("https://example.com/a.png").build());
+    OpenGraphMetadata first = builder.build();
+
+    OpenGraphMetadata second = builder.clear().withType("website").build();
+
+    assertThat(second, is(OpenGraphMetadata.builder().withType("website").build()));
+    assertThat(first.getTitle(), is("Title"));
+    assertThat(first.getImages().size(), is(1));
+  }
+
+  @Test
+  public void toBuilderTest() {
+    OpenGraphMetadata original = OpenGraphMetadata.builder().withType("article")
+        .withArticleTags(List.of("a")).withBookIsbn("1234").build();
+
+    OpenGraphMetadata.Builder builder = original.toBuilder();
+    builder.getArticleTags().add("b");
+    builder.getImages().add(OpenGraphImage.of("https://example.com/a.png", null, null, null,
+        null, null));
+
+    OpenGraphMetadata modified = builder.build();
+    assertThat(original.getArticleTags(), is(List.of("a")));
+    assertThat(original.getImages().isEmpty(), is(true));
+    assertThat(modified.getArticleTags(), is(List.of("a", "b")));
+    assertThat(modified.getImages().size(), is(1));
+    assertThat(modified.getBookIsbn(), is("1234"));
+  }
+
+  @Test
+  public void equalsTest() {
+    OffsetDateTime now = OffsetDateTime.now();
+    OpenGraphMetadata a = OpenGraphMetadata.builder().withType("article")
+        .withArticlePublishedTime(now).withProfileUsername("alice").build();
+    OpenGraphMetadata b = OpenGraphMetadata.of("article", null, null, null, null, null, null, null,
+        null, null, null, now, null, null, List.of(), null, null, null, null, null, null, null,
+        null, "alice", null);
+    assertThat(a, is(b));
+    assertThat(a.hashCode(), is(b.hashCode()));
+    assertThat(a, is(not(a.toBuilder().withProfileUsername("bob").build())));
+  }
+}
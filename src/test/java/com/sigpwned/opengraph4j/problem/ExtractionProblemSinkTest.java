@@ -0,0 +1,84 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.problem;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.OpenGraphExtractor;
+
+public class ExtractionProblemSinkTest {
+  @Test
+  public void everythingBadTest() throws IOException {
+    String html = Resources.toString(Resources.getResource("example-everything-bad.html"),
+        StandardCharsets.UTF_8);
+
+    Map<ExtractionProblem, Integer> counts = new EnumMap<>(ExtractionProblem.class);
+    List<String> dates = new ArrayList<>();
+    OpenGraphExtractor extractor =
+        OpenGraphExtractor.builder().withProblemSink((problem, property, content) -> {
+          counts.merge(problem, 1, Integer::sum);
+          if (problem == ExtractionProblem.INVALID_DATE)
+            dates.add(property + "=" + content);
+        }).build();
+
+    extractor.extract(new StringReader(html));
+
+    assertThat(counts.get(ExtractionProblem.UNRECOGNIZED_PROPERTY), is(1));
+    assertThat(counts.get(ExtractionProblem.NO_MEDIA_IN_FLIGHT), is(12));
+    assertThat(counts.get(ExtractionProblem.INVALID_DIMENSION), is(4));
+    assertThat(counts.get(ExtractionProblem.INVALID_DATE), is(4));
+    assertThat(dates.get(0), is("article:published_time=xyz"));
+  }
+
+  @Test
+  public void disabledTest() throws IOException {
+    String html = Resources.toString(Resources.getResource("example-everything-bad.html"),
+        StandardCharsets.UTF_8);
+
+    List<ExtractionProblem> problems = new ArrayList<>();
+    OpenGraphExtractor extractor =
+        OpenGraphExtractor.builder().withProblemSink(new ExtractionProblemSink() {
+          @Override
+          public boolean isEnabled(ExtractionProblem problem) {
+            return problem == ExtractionProblem.INVALID_DATE;
+          }
+
+          @Override
+          public void problem(ExtractionProblem problem, CharSequence property,
+              CharSequence content) {
+            problems.add(problem);
+          }
+        }).build();
+
+    extractor.extract(new StringReader(html));
+
+    assertThat(problems, is(Collections.nCopies(4, ExtractionProblem.INVALID_DATE)));
+  }
+}
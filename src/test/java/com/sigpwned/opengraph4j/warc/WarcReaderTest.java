@@ -0,0 +1,273 @@
+/*-
+ * =================================LICENSE_START==================================
+ * opengraph4j
+ * ====================================SECTION=====================================
+ * Copyright (C) 2022 Andy Boothe
+ * ====================================SECTION=====================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ==================================LICENSE_END===================================
+ */
+package com.sigpwned.opengraph4j.warc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.common.io.Resources;
+import com.sigpwned.opengraph4j.model.OpenGraphMetadata;
+import com.sigpwned.opengraph4j.util.OpenGraph;
+
+public class WarcReaderTest {
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private static final List<String> FIXTURES = List.of("example-verge-com.html",
+      "example-imdb-com.html", "example-everything-good.html", "example-neverssl-com.html");
+
+  private static byte[] record(String type, String uri, String contentType, byte[] content)
+      throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    result.write(("WARC/1.0\r\n" + "WARC-Type: " + type + "\r\n" + "WARC-Target-URI: " + uri
+        + "\r\n" + "Content-Type: " + contentType + "\r\n" + "Content-Length: " + content.length
+        + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+    result.write(content);
+    result.write("\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+    return result.toByteArray();
+  }
+
+  private static List<byte[]> records() throws IOException {
+    List<byte[]> result = new ArrayList<>();
+    result.add(record("warcinfo", "", "application/warc-fields",
+        "software: test\r\n".getBytes(StandardCharsets.UTF_8)));
+    for (String fixture : FIXTURES) {
+      String uri = "https://example.com/" + fixture;
+      result.add(record("request", uri, "application/http; msgtype=request",
+          ("GET /" + fixture + " HTTP/1.1\r\nHost: example.com\r\n\r\n")
+              .getBytes(StandardCharsets.UTF_8)));
+      ByteArrayOutputStream response = new ByteArrayOutputStream();
+      response.write(("HTTP/1.1 200 OK\r\nContent-Type: text/html; charset=utf-8\r\n\r\n")
+          .getBytes(StandardCharsets.UTF_8));
+      response.write(Resources.toByteArray(Resources.getResource(fixture)));
+      result.add(
+          record("response", uri, "application/http; msgtype=response", response.toByteArray()));
+    }
+    return result;
+  }
+
+  private static List<Optional<OpenGraphMetadata>> expected() throws IOException {
+    List<Optional<OpenGraphMetadata>> result = new ArrayList<>();
+    for (String fixture : FIXTURES)
+      result.add(OpenGraph
+          .extract(Resources.toString(Resources.getResource(fixture), StandardCharsets.UTF_8)));
+    return result;
+  }
+
+  private Path plain() throws IOException {
+    Path result = temp.newFile("example.warc").toPath();
+    try (OutputStream out = Files.newOutputStream(result)) {
+      for (byte[] record : records())
+        out.write(record);
+    }
+    return result;
+  }
+
+  private Path gzipped() throws IOException {
+    // Real compressed WARC files use one gzip member per record
+    Path result = temp.newFile("example.warc.gz").toPath();
+    try (OutputStream out = Files.newOutputStream(result)) {
+      for (byte[] record : records()) {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(record);
+        gzip.finish();
+      }
+    }
+    return result;
+  }
+
+  private static List<WarcRecord> readAll(Path path) throws IOException {
+    List<WarcRecord> result = new ArrayList<>();
+    try (WarcReader reader = WarcReader.open(path)) {
+      for (WarcRecord record = reader.next(); record != null; record = reader.next())
+        result.add(record);
+    }
+    return result;
+  }
+
+  @Test
+  public void plainTest() throws IOException {
+    List<WarcRecord> records = readAll(plain());
+    assertThat(records.size(), is(1 + 2 * FIXTURES.size()));
+    assertThat(records.get(0).getType(), is(Optional.of("warcinfo")));
+    assertThat(records.get(0).getHttpResponse().isPresent(), is(false));
+    assertThat(records.get(1).getHttpResponse().isPresent(), is(false));
+
+    WarcHttpResponse response = records.get(2).getHttpResponse().get();
+    assertThat(response.getStatusCode(), is(200));
+    assertThat(response.getCharset(), is(Optional.of(StandardCharsets.UTF_8)));
+    assertThat(response.getPayload().remaining(),
+        is(Resources.toByteArray(Resources.getResource(FIXTURES.get(0))).length));
+  }
+
+  @Test
+  public void gzipTest() throws IOException {
+    List<WarcRecord> plain = readAll(plain());
+    List<WarcRecord> gzipped = readAll(gzipped());
+    assertThat(gzipped.size(), is(plain.size()));
+    for (int i = 0; i < plain.size(); i++) {
+      assertThat(gzipped.get(i).getHeaders(), is(plain.get(i).getHeaders()));
+      assertThat(gzipped.get(i).getContent(), is(plain.get(i).getContent()));
+    }
+  }
+
+  @Test
+  public void extractAllTest() throws IOException {
+    for (Path path : List.of(plain(), gzipped())) {
+      List<String> uris = new ArrayList<>();
+      List<Optional<OpenGraphMetadata>> results = new ArrayList<>();
+      try (WarcReader reader = WarcReader.open(path)) {
+        OpenGraph.extractAll(reader, (record, result) -> {
+          uris.add(record.getTargetUri().get());
+          results.add(result);
+        });
+      }
+      assertThat(uris.size(), is(FIXTURES.size()));
+      assertThat(uris.get(0), is("https://example.com/" + FIXTURES.get(0)));
+      assertThat(results, is(expected()));
+    }
+  }
+
+  private static byte[] chunked(byte[] body, int chunkSize) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    for (int i = 0; i < body.length; i = i + chunkSize) {
+      int n = Math.min(chunkSize, body.length - i);
+      result.write((Integer.toHexString(n) + ";ext=1\r\n").getBytes(StandardCharsets.UTF_8));
+      result.write(body, i, n);
+      result.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+    result.write("0\r\nX-Trailer: 1\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+    return result.toByteArray();
+  }
+
+  private static byte[] response(String headers, byte[] body) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    result.write(("HTTP/1.1 200 OK\r\nContent-Type: text/html; charset=utf-8\r\n" + headers
+        + "\r\n").getBytes(StandardCharsets.UTF_8));
+    result.write(body);
+    return result.toByteArray();
+  }
+
+  @Test
+  public void encodedTest() throws IOException {
+    byte[] html = Resources.toByteArray(Resources.getResource(FIXTURES.get(0)));
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+      gzip.write(html);
+    }
+    ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+    try (DeflaterOutputStream deflate = new DeflaterOutputStream(deflated)) {
+      deflate.write(html);
+    }
+
+    List<byte[]> responses = List.of(
+        response("Transfer-Encoding: chunked\r\nContent-Encoding: gzip\r\n",
+            chunked(gzipped.toByteArray(), 1000)),
+        response("Transfer-Encoding: chunked\r\n", chunked(html, 333)),
+        response("Content-Encoding: deflate\r\n", deflated.toByteArray()),
+        response("Content-Encoding: identity\r\n", html),
+        response("Content-Encoding: br\r\n", html),
+        response("Content-Encoding: gzip\r\n", html));
+
+    Path path = temp.newFile("encoded.warc").toPath();
+    try (OutputStream out = Files.newOutputStream(path)) {
+      for (byte[] response : responses)
+        out.write(record("response", "https://example.com/", "application/http; msgtype=response",
+            response));
+    }
+
+    List<WarcRecord> records = readAll(path);
+    WarcHttpResponse chunkedGzipped = records.get(0).getHttpResponse().get();
+    assertThat(chunkedGzipped.isEncoded(), is(true));
+    assertThat(chunkedGzipped.openBody().readAllBytes(), is(html));
+    assertThat(records.get(3).getHttpResponse().get().isEncoded(), is(false));
+
+    List<Optional<OpenGraphMetadata>> results = new ArrayList<>();
+    try (WarcReader reader = WarcReader.open(path)) {
+      OpenGraph.extractAll(reader, (record, result) -> results.add(result));
+    }
+
+    Optional<OpenGraphMetadata> expected = expected().get(0);
+    assertThat(expected.isPresent(), is(true));
+    assertThat(results,
+        is(List.of(expected, expected, expected, expected, Optional.empty(), Optional.empty())));
+  }
+
+  @Test
+  public void truncatedEncodingTest() throws IOException {
+    // The head is long and incompressible, so the truncated body ends partway through it.
+    StringBuilder html = new StringBuilder("<html><head>"
+        + "<meta property=\"og:type\" content=\"website\">"
+        + "<meta property=\"og:title\" content=\"Truncated\">");
+    Random random = new Random(0L);
+    for (int i = 0; i < 1000; i++)
+      html.append("<meta name=\"x\" content=\"").append(Long.toHexString(random.nextLong()))
+          .append("\">");
+    html.append("</head><body></body></html>");
+
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+      gzip.write(html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    byte[] truncated = Arrays.copyOf(gzipped.toByteArray(), gzipped.size() / 2);
+
+    Path path = temp.newFile("truncated.warc").toPath();
+    try (OutputStream out = Files.newOutputStream(path)) {
+      out.write(record("response", "https://example.com/", "application/http; msgtype=response",
+          response("Transfer-Encoding: chunked\r\nContent-Encoding: gzip\r\n",
+              chunked(truncated, 1000))));
+      out.write(record("response", "https://example.com/", "application/http; msgtype=response",
+          response("Content-Encoding: gzip\r\n", truncated)));
+    }
+
+    List<Optional<OpenGraphMetadata>> results = new ArrayList<>();
+    try (WarcReader reader = WarcReader.open(path)) {
+      OpenGraph.extractAll(reader, (record, result) -> results.add(result));
+    }
+
+    // The tags before the truncation survive
+    Optional<OpenGraphMetadata> expected = Optional
+        .of(OpenGraphMetadata.builder().withType("website").withTitle("Truncated").build());
+    assertThat(results, is(List.of(expected, expected)));
+  }
+
+  @Test(expected = IOException.class)
+  public void truncatedTest() throws IOException {
+    Path path = plain();
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 1000));
+    readAll(path);
+  }
+}